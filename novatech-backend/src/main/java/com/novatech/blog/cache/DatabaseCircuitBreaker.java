@@ -0,0 +1,161 @@
+package com.novatech.blog.cache;
+
+import com.novatech.blog.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.NoResultException;
+import jakarta.persistence.NonUniqueResultException;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * Count-based circuit breaker around database reads.
+ * <p>
+ * The outcome of the last {@code window-size} calls is kept in a ring. Once at least
+ * {@code minimum-calls} have been seen and the share of database failures reaches
+ * {@code failure-rate}, the circuit opens and calls fail immediately with a 503 instead of
+ * waiting on the connection pool. After {@code open-ms} a single probe is let through:
+ * success closes the circuit, failure opens it again. Application errors such as
+ * "post not found" count as successes; only connection, timeout and SQL failures count.
+ */
+@Component
+@Slf4j
+public class DatabaseCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final boolean[] outcomes;
+    private final int minimumCalls;
+    private final double failureRate;
+    private final long openNanos;
+    private final Counter rejected;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private boolean probing;
+
+    public DatabaseCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${blog.db-breaker.window-size:20}") int windowSize,
+            @Value("${blog.db-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${blog.db-breaker.failure-rate:0.5}") double failureRate,
+            @Value("${blog.db-breaker.open-ms:10000}") long openMillis
+    ) {
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRate = failureRate;
+        this.openNanos = openMillis * 1_000_000L;
+        this.rejected = Counter.builder("blog.dbbreaker.rejected").register(meterRegistry);
+        Gauge.builder("blog.dbbreaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        boolean probe = acquire();
+        try {
+            T result = call.get();
+            record(probe, false);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            record(probe, isDatabaseFailure(ex));
+            throw ex;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * True for failures of the database itself rather than of the request.
+     */
+    public static boolean isDatabaseFailure(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof IncorrectResultSizeDataAccessException || t instanceof DataIntegrityViolationException
+                    || t instanceof NoResultException || t instanceof NonUniqueResultException) {
+                return false;
+            }
+            if (t instanceof DataAccessException || t instanceof TransactionException
+                    || t instanceof PersistenceException || t instanceof SQLException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized boolean acquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.CLOSED) {
+            return false;
+        }
+        if (state == State.HALF_OPEN && !probing) {
+            probing = true;
+            return true;
+        }
+        rejected.increment();
+        long remaining = Math.max(0, openNanos - (System.nanoTime() - openedAt));
+        throw new ServiceUnavailableException("Database unavailable", Math.max(1, remaining / 1_000_000_000L));
+    }
+
+    private synchronized void record(boolean probe, boolean failed) {
+        if (probe) {
+            probing = false;
+            if (failed) {
+                log.warn("Database probe failed, circuit stays open");
+                open();
+            } else {
+                log.info("Database circuit closed");
+                reset();
+                state = State.CLOSED;
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            return;
+        }
+        if (recorded == outcomes.length) {
+            failures -= outcomes[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failed;
+        failures += failed ? 1 : 0;
+        next = (next + 1) % outcomes.length;
+        if (recorded >= minimumCalls && failures >= failureRate * recorded) {
+            log.warn("Database circuit opened after {} failures in {} calls", failures, recorded);
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        reset();
+    }
+
+    private void reset() {
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.novatech.blog.cache;
+
+import com.novatech.blog.entity.Category;
+import com.novatech.blog.entity.Post;
+import com.novatech.blog.entity.Tag;
+import com.novatech.blog.entity.User;
+import com.novatech.blog.event.CacheInvalidationEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the instance-local second-level cache in step with writes made on other instances.
+ * Hibernate already maintains it for writes through this instance's session factory; the
+ * change log covers the rest. Query results are dropped wholesale because any change to posts,
+ * categories, tags or users can alter the cached DISTINCT and by-name lookups.
+ */
+@Component
+public class SecondLevelCacheEvictor {
+
+    private static final String POST_TAGS = Post.class.getName() + ".tags";
+
+    private final Cache cache;
+
+    public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        switch (event.getEntityType()) {
+            case POST -> cache.evictCollectionData(POST_TAGS, event.getEntityId());
+            case CATEGORY -> cache.evictEntityData(Category.class, event.getEntityId());
+            case TAG -> cache.evictEntityData(Tag.class, event.getEntityId());
+            case USER -> cache.evictEntityData(User.class, event.getEntityId());
+            default -> {
+                return;
+            }
+        }
+        cache.evictQueryRegions();
+    }
+}
@@ -0,0 +1,58 @@
+package com.novatech.blog.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Per-region second-level cache hits, misses and hit ratio, exported as
+ * {@code blog.l2cache.requests} and {@code blog.l2cache.hit.ratio} tagged with the region.
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        Set<String> regions = new TreeSet<>(Set.of(statistics.getSecondLevelCacheRegionNames()));
+        regions.add(QUERY_RESULTS_REGION);
+        for (String region : regions) {
+            if (statistics.getCacheRegionStatistics(region) == null) {
+                continue;
+            }
+            FunctionCounter.builder("blog.l2cache.requests", statistics,
+                            s -> s.getCacheRegionStatistics(region).getHitCount())
+                    .tag("region", region).tag("result", "hit").register(registry);
+            FunctionCounter.builder("blog.l2cache.requests", statistics,
+                            s -> s.getCacheRegionStatistics(region).getMissCount())
+                    .tag("region", region).tag("result", "miss").register(registry);
+            Gauge.builder("blog.l2cache.hit.ratio", statistics, s -> hitRatio(s.getCacheRegionStatistics(region)))
+                    .tag("region", region).register(registry);
+        }
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        long hits = region.getHitCount();
+        long total = hits + region.getMissCount();
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+}
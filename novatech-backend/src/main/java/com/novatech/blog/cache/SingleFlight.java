@@ -0,0 +1,99 @@
+package com.novatech.blog.cache;
+
+import com.novatech.blog.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical loads: the first caller for a key runs the loader,
+ * callers arriving while it is in flight wait for the same result instead of issuing
+ * their own query. Failures are rethrown to every waiter; waiters give up after the
+ * configured timeout with a 503.
+ * <p>
+ * The loader must not rely on the caller's transaction, since waiters never run it.
+ */
+@Component
+public class SingleFlight {
+
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMillis;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public SingleFlight(
+            MeterRegistry meterRegistry,
+            @Value("${blog.single-flight.timeout-ms:5000}") long timeoutMillis
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String group, Object key, Supplier<T> loader) {
+        String flightKey = group + ':' + key;
+        Counters metrics = counters.computeIfAbsent(group, Counters::new);
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, mine);
+        if (existing != null) {
+            metrics.coalesced.increment();
+            return (T) await(existing, metrics, flightKey);
+        }
+
+        metrics.loads.increment();
+        try {
+            T value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(flightKey, mine);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> flight, Counters metrics, String flightKey) {
+        try {
+            return flight.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            metrics.timeouts.increment();
+            throw new ServiceUnavailableException("Timed out waiting for " + flightKey, 1);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted waiting for " + flightKey, 1);
+        }
+    }
+
+    private final class Counters {
+        private final Counter loads;
+        private final Counter coalesced;
+        private final Counter timeouts;
+
+        private Counters(String group) {
+            loads = Counter.builder("blog.singleflight.loads").tag("name", group).register(meterRegistry);
+            coalesced = Counter.builder("blog.singleflight.coalesced").tag("name", group).register(meterRegistry);
+            timeouts = Counter.builder("blog.singleflight.timeouts").tag("name", group).register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.novatech.blog.cache;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks responses built from stale cache entries, see {@link StaleWhileRevalidateCache}.
+ * Such responses must not be stored by shared caches as if they were fresh.
+ */
+@RestControllerAdvice
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            Object age = servletRequest.getServletRequest().getAttribute(StaleWhileRevalidateCache.STALE_AGE_ATTRIBUTE);
+            if (age != null) {
+                HttpHeaders headers = response.getHeaders();
+                headers.set(StaleWhileRevalidateCache.STALE_HEADER, "true");
+                headers.set(HttpHeaders.AGE, age.toString());
+                headers.setCacheControl("no-store");
+            }
+        }
+        return body;
+    }
+}
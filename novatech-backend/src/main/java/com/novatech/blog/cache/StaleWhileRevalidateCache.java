@@ -0,0 +1,327 @@
+package com.novatech.blog.cache;
+
+import com.novatech.blog.exception.ServiceUnavailableException;
+import com.novatech.blog.jfr.CacheLookupEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for public reads that keeps serving the last good value when the
+ * database cannot answer.
+ * <ul>
+ *   <li>younger than {@code ttl-ms}: served as is;</li>
+ *   <li>up to {@code stale-ms} past that: served immediately, refreshed in the background;</li>
+ *   <li>older, invalidated or missing: loaded synchronously through {@link SingleFlight} and the
+ *       {@link DatabaseCircuitBreaker}. If that load fails because of the database, any value
+ *       younger than {@code max-stale-on-error-ms} is served instead.</li>
+ * </ul>
+ * Invalidated entries are never served while the database is healthy, so writes stay visible
+ * immediately. Whenever a stale value is served the current request is marked, and
+ * {@link StaleResponseAdvice} adds the {@value #STALE_HEADER} and {@code Age} headers.
+ */
+@Component
+@Slf4j
+public class StaleWhileRevalidateCache {
+
+    public static final String STALE_HEADER = "X-Data-Stale";
+    static final String STALE_AGE_ATTRIBUTE = StaleWhileRevalidateCache.class.getName() + ".age";
+
+    private final SingleFlight singleFlight;
+    private final DatabaseCircuitBreaker circuitBreaker;
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final long maxStaleOnErrorNanos;
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter staleServed;
+    private final Counter fallbacks;
+    private final Counter misses;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final ThreadPoolExecutor refresher;
+
+    public StaleWhileRevalidateCache(
+            SingleFlight singleFlight,
+            DatabaseCircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${blog.read-cache.ttl-ms:30000}") long ttlMillis,
+            @Value("${blog.read-cache.stale-ms:300000}") long staleMillis,
+            @Value("${blog.read-cache.max-stale-on-error-ms:86400000}") long maxStaleOnErrorMillis,
+            @Value("${blog.read-cache.max-entries:10000}") int maxEntries,
+            @Value("${blog.read-cache.refresh-threads:2}") int refreshThreads
+    ) {
+        this.singleFlight = singleFlight;
+        this.circuitBreaker = circuitBreaker;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.staleNanos = staleMillis * 1_000_000L;
+        this.maxStaleOnErrorNanos = maxStaleOnErrorMillis * 1_000_000L;
+        this.maxEntries = maxEntries;
+        this.hits = counter(meterRegistry, "fresh");
+        this.staleServed = counter(meterRegistry, "stale");
+        this.fallbacks = counter(meterRegistry, "fallback");
+        this.misses = counter(meterRegistry, "load");
+        this.refresher = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(100), r -> {
+                    Thread thread = new Thread(r, "read-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public <T> T get(String group, Object key, Supplier<T> loader) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        try {
+            return lookup(group, key, loader, event);
+        } finally {
+            commit(event, group, key, 1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T lookup(String group, Object key, Supplier<T> loader, CacheLookupEvent event) {
+        String cacheKey = group + ':' + key;
+        Entry entry = entries.get(cacheKey);
+        long now = System.nanoTime();
+        if (entry != null && !entry.invalidated) {
+            long age = now - entry.loadedAt;
+            if (age < ttlNanos) {
+                hits.increment();
+                event.outcome = "fresh";
+                return (T) entry.value;
+            }
+            if (age < ttlNanos + staleNanos) {
+                staleServed.increment();
+                event.outcome = "stale";
+                markStale(age);
+                refreshInBackground(cacheKey, group, key, loader);
+                return (T) entry.value;
+            }
+        }
+
+        misses.increment();
+        event.outcome = "load";
+        event.loaded = 1;
+        try {
+            return load(cacheKey, group, key, loader);
+        } catch (RuntimeException ex) {
+            boolean unavailable = ex instanceof ServiceUnavailableException || DatabaseCircuitBreaker.isDatabaseFailure(ex);
+            if (unavailable && entry != null && now - entry.loadedAt < maxStaleOnErrorNanos) {
+                fallbacks.increment();
+                event.outcome = "fallback";
+                log.debug("Serving stale {} while the database is unavailable: {}", cacheKey, ex.getMessage());
+                markStale(now - entry.loadedAt);
+                return (T) entry.value;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Multi-key {@link #get}: keys that can be served from memory are, the rest are loaded with a
+     * single {@code loader} call. Keys the loader does not return are absent from the result.
+     */
+    public <K, T> Map<K, T> getAll(String group, Collection<K> keys, Function<Collection<K>, Map<K, T>> loader) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        try {
+            return lookupAll(group, keys, loader, event);
+        } finally {
+            commit(event, group, "", keys.size());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, T> Map<K, T> lookupAll(String group, Collection<K> keys, Function<Collection<K>, Map<K, T>> loader,
+                                       CacheLookupEvent event) {
+        event.outcome = "fresh";
+        Map<K, T> result = new HashMap<>();
+        Map<K, Entry> expired = new HashMap<>();
+        List<K> missing = new ArrayList<>();
+        long now = System.nanoTime();
+        for (K key : keys) {
+            String cacheKey = group + ':' + key;
+            Entry entry = entries.get(cacheKey);
+            long age = entry != null ? now - entry.loadedAt : Long.MAX_VALUE;
+            if (entry != null && !entry.invalidated && age < ttlNanos) {
+                hits.increment();
+                result.put(key, (T) entry.value);
+            } else if (entry != null && !entry.invalidated && age < ttlNanos + staleNanos) {
+                staleServed.increment();
+                event.outcome = "stale";
+                markStale(age);
+                refreshInBackground(cacheKey, group, key, () -> loadOne(loader, key));
+                result.put(key, (T) entry.value);
+            } else {
+                if (entry != null) {
+                    expired.put(key, entry);
+                }
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        misses.increment(missing.size());
+        event.outcome = "load";
+        event.loaded = missing.size();
+        long generation = invalidations.get();
+        Map<K, T> loaded;
+        try {
+            loaded = circuitBreaker.execute(() -> loader.apply(missing));
+        } catch (RuntimeException ex) {
+            boolean unavailable = ex instanceof ServiceUnavailableException || DatabaseCircuitBreaker.isDatabaseFailure(ex);
+            if (!unavailable || expired.size() < missing.size()
+                    || expired.values().stream().anyMatch(entry -> now - entry.loadedAt >= maxStaleOnErrorNanos)) {
+                throw ex;
+            }
+            fallbacks.increment(missing.size());
+            event.outcome = "fallback";
+            log.debug("Serving {} stale {} entries while the database is unavailable: {}", missing.size(), group, ex.getMessage());
+            expired.values().forEach(entry -> markStale(now - entry.loadedAt));
+            expired.forEach((key, entry) -> result.put(key, (T) entry.value));
+            return result;
+        }
+        boolean raced = invalidations.get() != generation;
+        long loadedAt = System.nanoTime();
+        loaded.forEach((key, value) -> {
+            String cacheKey = group + ':' + key;
+            if (entries.size() >= maxEntries && !entries.containsKey(cacheKey)) {
+                evictSome();
+            }
+            entries.put(cacheKey, new Entry(value, loadedAt, raced));
+            result.put(key, value);
+        });
+        return result;
+    }
+
+    /**
+     * The next read reloads, but the old value is kept as a fallback if the database is down.
+     */
+    public void invalidate(String group, Object key) {
+        invalidations.incrementAndGet();
+        entries.computeIfPresent(group + ':' + key, (k, entry) -> entry.markInvalidated());
+    }
+
+    public void invalidateGroup(String group) {
+        invalidations.incrementAndGet();
+        String prefix = group + ':';
+        entries.replaceAll((k, entry) -> k.startsWith(prefix) ? entry.markInvalidated() : entry);
+    }
+
+    public void remove(String group, Object key) {
+        entries.remove(group + ':' + key);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private <T> T load(String cacheKey, String group, Object key, Supplier<T> loader) {
+        long generation = invalidations.get();
+        T value = singleFlight.execute(group, key, () -> circuitBreaker.execute(loader));
+        if (entries.size() >= maxEntries && !entries.containsKey(cacheKey)) {
+            evictSome();
+        }
+        // A write that committed while this load was running may not be in the value
+        entries.put(cacheKey, new Entry(value, System.nanoTime(), invalidations.get() != generation));
+        return value;
+    }
+
+    private <T> void refreshInBackground(String cacheKey, String group, Object key, Supplier<T> loader) {
+        if (!refreshing.add(cacheKey)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    load(cacheKey, group, key, loader);
+                } catch (RuntimeException ex) {
+                    log.debug("Background refresh of {} failed: {}", cacheKey, ex.getMessage());
+                } finally {
+                    refreshing.remove(cacheKey);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Queue full: the next read past the TTL asks again
+            refreshing.remove(cacheKey);
+        }
+    }
+
+    private static void commit(CacheLookupEvent event, String group, Object key, int keys) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.group = group;
+            event.key = String.valueOf(key);
+            event.keys = keys;
+            event.commit();
+        }
+    }
+
+    private static <K, T> T loadOne(Function<Collection<K>, Map<K, T>> loader, K key) {
+        T value = loader.apply(List.of(key)).get(key);
+        if (value == null) {
+            throw new NoSuchElementException("No value for " + key);
+        }
+        return value;
+    }
+
+    // Arbitrary tenth of the entries; the hot ones are reloaded on their next read
+    private void evictSome() {
+        int toRemove = Math.max(1, maxEntries / 10);
+        for (Iterator<String> it = entries.keySet().iterator(); it.hasNext() && toRemove > 0; toRemove--) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static void markStale(long ageNanos) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return;
+        }
+        Long previous = (Long) request.getAttribute(STALE_AGE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        long ageSeconds = TimeUnit.NANOSECONDS.toSeconds(ageNanos);
+        if (previous == null || ageSeconds > previous) {
+            request.setAttribute(STALE_AGE_ATTRIBUTE, ageSeconds, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String outcome) {
+        return Counter.builder("blog.readcache.requests").tag("outcome", outcome).register(registry);
+    }
+
+    private record Entry(Object value, long loadedAt, boolean invalidated) {
+
+        Entry markInvalidated() {
+            return new Entry(value, loadedAt, true);
+        }
+    }
+}
@@ -21,8 +21,11 @@ public class AuthController {
     }
     
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout() {
-        // JWT is stateless, logout is handled on frontend by removing token
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        // The frontend still drops the token; revoking it also stops any copy from being used
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            authService.logout(authHeader.substring(7));
+        }
         return ResponseEntity.ok().build();
     }
 }
@@ -0,0 +1,57 @@
+package com.novatech.blog.controller;
+
+import com.novatech.blog.service.FeedService;
+import com.novatech.blog.service.FeedService.XmlDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds and sitemaps. ETag and Last-Modified are set on every response so Spring answers
+ * If-None-Match / If-Modified-Since with 304 without sending the body.
+ */
+@RestController
+@RequiredArgsConstructor
+public class FeedController {
+    
+    private static final MediaType RSS = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+    private static final MediaType ATOM = MediaType.parseMediaType("application/atom+xml;charset=UTF-8");
+    private static final MediaType XML = MediaType.parseMediaType("application/xml;charset=UTF-8");
+    
+    private final FeedService feedService;
+    
+    @GetMapping("/feed.xml")
+    public ResponseEntity<byte[]> rss() {
+        return xml(feedService.getRssFeed(), RSS);
+    }
+    
+    @GetMapping("/atom.xml")
+    public ResponseEntity<byte[]> atom() {
+        return xml(feedService.getAtomFeed(), ATOM);
+    }
+    
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<byte[]> sitemap() {
+        return xml(feedService.getSitemap(), XML);
+    }
+    
+    @GetMapping("/sitemap-{index}.xml")
+    public ResponseEntity<byte[]> sitemapChunk(@PathVariable int index) {
+        return xml(feedService.getSitemapChunk(index), XML);
+    }
+    
+    private ResponseEntity<byte[]> xml(XmlDocument document, MediaType mediaType) {
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .eTag(document.etag())
+                .lastModified(document.lastModified())
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(document.bytes());
+    }
+}
@@ -0,0 +1,159 @@
+package com.novatech.blog.controller;
+
+import com.novatech.blog.dto.MediaResponse;
+import com.novatech.blog.service.MediaService;
+import com.novatech.blog.service.MediaService.MediaFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Media upload and delivery. Files are named by their content hash, so responses are cached
+ * for a year as immutable. Bodies are handed to Tomcat's sendfile where the connector
+ * supports it, so the bytes go from the page cache to the socket without passing through
+ * the JVM heap; single byte ranges are honoured for seeking and resumed downloads.
+ */
+@RestController
+@RequiredArgsConstructor
+public class MediaController {
+    
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePublic().immutable().getHeaderValue();
+    
+    private final MediaService mediaService;
+    
+    @PostMapping("/api/media")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MediaResponse> upload(@RequestParam("file") MultipartFile file) {
+        MediaResponse response = mediaService.upload(file);
+        return ResponseEntity.status(response.isDeduplicated() ? HttpStatus.OK : HttpStatus.CREATED).body(response);
+    }
+    
+    @GetMapping("/media/{name:.+}")
+    public void serve(
+            @PathVariable String name,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        MediaFile file = mediaService.find(name);
+        if (file == null) {
+            String fallback = mediaService.missingVariantFallback(name);
+            if (fallback == null) {
+                response.setStatus(HttpStatus.NOT_FOUND.value());
+                return;
+            }
+            // Variant still rendering: send the original, but don't let anyone cache the redirect
+            response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+            response.setHeader(HttpHeaders.LOCATION, request.getContextPath() + fallback);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            return;
+        }
+        
+        response.setHeader(HttpHeaders.ETAG, file.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (file.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setContentType(file.contentType());
+        
+        long length = file.length();
+        long start = 0;
+        long end = length;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(file.etag()))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+        response.setContentLengthLong(end - start);
+        if ("HEAD".equals(request.getMethod()) || end == start) {
+            return;
+        }
+        
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.path().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, target);
+            }
+            out.flush();
+        }
+    }
+    
+    /**
+     * @return {start, endExclusive} for a single satisfiable range, an empty array to send the
+     *         whole file (multiple or malformed ranges), or null if the range is unsatisfiable
+     */
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                return new long[]{Math.max(0, length - suffix), length};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length : Math.min(length, Long.parseLong(last) + 1);
+            if (start >= length || end <= start) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException ex) {
+            return new long[0];
+        }
+    }
+}
@@ -1,8 +1,30 @@
 package com.novatech.blog.controller;
 
+import com.novatech.blog.dto.BulkOperationResponse;
+import com.novatech.blog.dto.BulkPostRequest;
+import com.novatech.blog.dto.CommentPageResponse;
+import com.novatech.blog.dto.CommentRequest;
+import com.novatech.blog.dto.CommentResponse;
+import com.novatech.blog.dto.PostChangesResponse;
+import com.novatech.blog.dto.PostBatchItem;
+import com.novatech.blog.dto.PostBatchRequest;
+import com.novatech.blog.dto.PostFields;
+import com.novatech.blog.dto.PostFilter;
 import com.novatech.blog.dto.PostRequest;
 import com.novatech.blog.dto.PostResponse;
+import com.novatech.blog.dto.PostRevisionResponse;
+import com.novatech.blog.dto.PostViewsResponse;
+import com.novatech.blog.dto.RelatedPostResponse;
+import com.novatech.blog.dto.RevisionHistoryResponse;
+import com.novatech.blog.dto.TrendingPostResponse;
+import com.novatech.blog.service.CommentService;
+import com.novatech.blog.service.PostQueryService;
 import com.novatech.blog.service.PostService;
+import com.novatech.blog.service.PostSyncService;
+import com.novatech.blog.service.RelatedPostsService;
+import com.novatech.blog.service.RevisionService;
+import com.novatech.blog.service.TrendingService;
+import com.novatech.blog.service.ViewCounterService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -11,6 +33,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -18,10 +42,65 @@ import java.util.List;
 public class PostController {
     
     private final PostService postService;
+    private final PostQueryService postQueryService;
+    private final PostSyncService postSyncService;
+    private final CommentService commentService;
+    private final RelatedPostsService relatedPostsService;
+    private final RevisionService revisionService;
+    private final ViewCounterService viewCounterService;
+    private final TrendingService trendingService;
     
     @GetMapping
-    public ResponseEntity<List<PostResponse>> getAllPosts() {
-        return ResponseEntity.ok(postService.getAllPosts());
+    public ResponseEntity<List<PostResponse>> getAllPosts(PostFilter filter) {
+        if (filter.isEmpty()) {
+            return ResponseEntity.ok(postService.getAllPosts());
+        }
+        PostQueryService.PostPage<PostResponse> page = postQueryService.search(filter);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(page.total()))
+                .body(page.posts());
+    }
+    
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllPostFields(PostFilter filter, @RequestParam String fields) {
+        PostFields selected = PostFields.parse(fields);
+        if (filter.isEmpty()) {
+            return ResponseEntity.ok(postService.getAllPostFields(selected));
+        }
+        PostQueryService.PostPage<Map<String, Object>> page = postQueryService.search(filter, selected);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(page.total()))
+                .body(page.posts());
+    }
+    
+    // Fixed segments shadow /{slug}, so each one is listed in PostService.RESERVED_SLUGS
+    @GetMapping("/batch")
+    public ResponseEntity<List<PostBatchItem<Object>>> getPostBatch(
+            @RequestParam List<String> slugs,
+            @RequestParam(required = false) String fields
+    ) {
+        return ResponseEntity.ok(postQueryService.getBySlugs(slugs, batchView(fields)));
+    }
+    
+    // Public read like the GET above; the body only carries a slug list that is too long for a URL
+    @PostMapping("/batch")
+    public ResponseEntity<List<PostBatchItem<Object>>> getPostBatch(@RequestBody PostBatchRequest request) {
+        return ResponseEntity.ok(postQueryService.getBySlugs(request.getSlugs(), batchView(request.getFields())));
+    }
+    
+    @GetMapping("/changes")
+    public ResponseEntity<PostChangesResponse> getPostChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "200") int limit
+    ) {
+        return ResponseEntity.ok(postSyncService.getChangesSince(since, limit));
+    }
+    
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingPostResponse>> getTrendingPosts(
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(trendingService.getTrending(limit));
     }
     
     @GetMapping("/{slug}")
@@ -29,6 +108,43 @@ public class PostController {
         return ResponseEntity.ok(postService.getPostBySlug(slug));
     }
     
+    @GetMapping(value = "/{slug}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getPostFieldsBySlug(@PathVariable String slug, @RequestParam String fields) {
+        // Parsed first so a bad selection is rejected without counting a view
+        PostFields selected = PostFields.parse(fields);
+        return ResponseEntity.ok(selected.project(postService.getPostBySlug(slug)));
+    }
+    
+    @GetMapping("/{slug}/related")
+    public ResponseEntity<List<RelatedPostResponse>> getRelatedPosts(
+            @PathVariable String slug,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        return ResponseEntity.ok(relatedPostsService.getRelatedPosts(slug, limit));
+    }
+    
+    @GetMapping("/{slug}/views")
+    public ResponseEntity<PostViewsResponse> getPostViews(@PathVariable String slug) {
+        return ResponseEntity.ok(viewCounterService.getViewsBySlug(slug));
+    }
+    
+    @GetMapping("/{slug}/comments")
+    public ResponseEntity<CommentPageResponse> getComments(
+            @PathVariable String slug,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(commentService.getComments(slug, after, limit));
+    }
+    
+    @PostMapping("/{slug}/comments")
+    public ResponseEntity<CommentResponse> addComment(
+            @PathVariable String slug,
+            @Valid @RequestBody CommentRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(commentService.submit(slug, request));
+    }
+    
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<PostResponse> createPost(@Valid @RequestBody PostRequest request) {
@@ -45,10 +161,53 @@ public class PostController {
         return ResponseEntity.ok(postService.updatePost(id, request));
     }
     
+    @GetMapping("/{id}/revisions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RevisionHistoryResponse> getRevisions(@PathVariable Long id) {
+        return ResponseEntity.ok(revisionService.getHistory(id));
+    }
+    
+    @GetMapping("/{id}/revisions/{revision}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PostRevisionResponse> getRevision(@PathVariable Long id, @PathVariable int revision) {
+        return ResponseEntity.ok(revisionService.getRevision(id, revision));
+    }
+    
+    @PostMapping("/{id}/revisions/{revision}/restore")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PostResponse> restoreRevision(@PathVariable Long id, @PathVariable int revision) {
+        return ResponseEntity.ok(postService.restoreRevision(id, revision));
+    }
+    
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deletePost(@PathVariable Long id) {
         postService.deletePost(id);
         return ResponseEntity.noContent().build();
     }
+    
+    @PostMapping("/bulk/delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOperationResponse> bulkDelete(@RequestBody BulkPostRequest request) {
+        return ResponseEntity.ok(postService.bulkDelete(request));
+    }
+    
+    @PostMapping("/bulk/category")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOperationResponse> bulkRecategorize(@RequestBody BulkPostRequest request) {
+        return ResponseEntity.ok(postService.bulkRecategorize(request));
+    }
+    
+    @PostMapping("/bulk/tags")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOperationResponse> bulkRetag(@RequestBody BulkPostRequest request) {
+        return ResponseEntity.ok(postService.bulkRetag(request));
+    }
+    
+    private static Function<PostResponse, Object> batchView(String fields) {
+        if (fields == null) {
+            return post -> post;
+        }
+        return PostFields.parse(fields)::project;
+    }
 }
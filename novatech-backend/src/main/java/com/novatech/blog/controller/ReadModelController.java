@@ -0,0 +1,28 @@
+package com.novatech.blog.controller;
+
+import com.novatech.blog.dto.ReadModelVerifyResponse;
+import com.novatech.blog.service.PostReadModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/read-model")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ReadModelController {
+    
+    private final PostReadModel postReadModel;
+    
+    @GetMapping("/verify")
+    public ResponseEntity<ReadModelVerifyResponse> verify() {
+        return ResponseEntity.ok(postReadModel.verify());
+    }
+    
+    @PostMapping("/rebuild")
+    public ResponseEntity<ReadModelVerifyResponse> rebuild() {
+        postReadModel.rebuild();
+        return ResponseEntity.ok(postReadModel.verify());
+    }
+}
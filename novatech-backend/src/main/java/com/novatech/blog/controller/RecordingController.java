@@ -0,0 +1,37 @@
+package com.novatech.blog.controller;
+
+import com.novatech.blog.dto.RecordingResponse;
+import com.novatech.blog.service.RecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/recording")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class RecordingController {
+    
+    private final RecordingService recordingService;
+    
+    @GetMapping
+    public ResponseEntity<RecordingResponse> getStatus() {
+        return ResponseEntity.ok(recordingService.getStatus());
+    }
+    
+    @PostMapping("/start")
+    public ResponseEntity<RecordingResponse> start() {
+        return ResponseEntity.ok(recordingService.start());
+    }
+    
+    @PostMapping("/dump")
+    public ResponseEntity<RecordingResponse> dump() {
+        return ResponseEntity.ok(recordingService.dump());
+    }
+    
+    @PostMapping("/stop")
+    public ResponseEntity<RecordingResponse> stop() {
+        return ResponseEntity.ok(recordingService.stop());
+    }
+}
@@ -0,0 +1,28 @@
+package com.novatech.blog.controller;
+
+import com.novatech.blog.dto.SnapshotVerifyResponse;
+import com.novatech.blog.service.StaticSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/snapshot")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class SnapshotController {
+    
+    private final StaticSnapshotService staticSnapshotService;
+    
+    @GetMapping("/verify")
+    public ResponseEntity<SnapshotVerifyResponse> verify() {
+        return ResponseEntity.ok(staticSnapshotService.verify());
+    }
+    
+    @PostMapping("/rebuild")
+    public ResponseEntity<SnapshotVerifyResponse> rebuild() {
+        staticSnapshotService.rebuild();
+        return ResponseEntity.ok(staticSnapshotService.verify());
+    }
+}
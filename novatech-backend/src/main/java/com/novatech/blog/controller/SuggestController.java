@@ -0,0 +1,30 @@
+package com.novatech.blog.controller;
+
+import com.novatech.blog.dto.SuggestResponse;
+import com.novatech.blog.service.SuggestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+/**
+ * Typeahead for the search box and the editor's tag input, e.g.
+ * {@code /api/suggest?prefix=spr&types=tag}. Chinese titles and names also match by their pinyin
+ * initials, so {@code xn} finds 性能优化.
+ */
+@RestController
+@RequestMapping("/api/suggest")
+@RequiredArgsConstructor
+public class SuggestController {
+    
+    private final SuggestService suggestService;
+    
+    @GetMapping
+    public ResponseEntity<SuggestResponse> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "post,tag,category") Set<String> types,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(suggestService.suggest(prefix, types, limit));
+    }
+}
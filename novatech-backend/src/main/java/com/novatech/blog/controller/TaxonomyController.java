@@ -0,0 +1,32 @@
+package com.novatech.blog.controller;
+
+import com.novatech.blog.service.PostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Category and tag names in use. Both lists come from the query cache until a post,
+ * category or tag changes.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class TaxonomyController {
+    
+    private final PostService postService;
+    
+    @GetMapping("/categories")
+    public ResponseEntity<List<String>> getCategories() {
+        return ResponseEntity.ok(postService.getCategories());
+    }
+    
+    @GetMapping("/tags")
+    public ResponseEntity<List<String>> getTags() {
+        return ResponseEntity.ok(postService.getTags());
+    }
+}
@@ -0,0 +1,24 @@
+package com.novatech.blog.controller;
+
+import com.novatech.blog.dto.RouteTimingResponse;
+import com.novatech.blog.timing.RouteTimingStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/timings")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class TimingController {
+    
+    private final RouteTimingStats routeTimingStats;
+    
+    @GetMapping
+    public ResponseEntity<List<RouteTimingResponse>> getBreakdown() {
+        return ResponseEntity.ok(routeTimingStats.getBreakdown());
+    }
+}
@@ -0,0 +1,18 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkOperationResponse {
+    private String operation;
+    private int matched;          // Posts selected by ids/filter
+    private int postsAffected;    // Rows changed in posts
+    private int tagLinksAdded;    // Rows inserted into post_tags
+    private int tagLinksRemoved;  // Rows deleted from post_tags
+}
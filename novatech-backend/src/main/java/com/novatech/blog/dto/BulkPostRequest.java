@@ -0,0 +1,29 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Selects posts by id list and/or filter (all given criteria must match),
+ * plus the change to apply to them.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkPostRequest {
+    
+    // Selection
+    private List<Long> ids;
+    private String category;
+    private String tag;
+    
+    // Changes
+    private String targetCategory;
+    private List<String> addTags;
+    private List<String> removeTags;
+}
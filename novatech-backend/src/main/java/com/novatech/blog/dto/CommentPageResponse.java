@@ -0,0 +1,19 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentPageResponse {
+    private List<CommentResponse> comments;
+    private Long nextCursor;   // pass as ?after= for the next page, null on the last page
+    private boolean hasMore;
+    private long total;
+}
@@ -0,0 +1,23 @@
+package com.novatech.blog.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentRequest {
+    
+    @NotBlank(message = "Author name is required")
+    @Size(max = 50, message = "Author name must be at most 50 characters")
+    private String authorName;
+    
+    @NotBlank(message = "Content is required")
+    @Size(max = 2000, message = "Content must be at most 2000 characters")
+    private String content;
+}
@@ -0,0 +1,20 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentResponse {
+    private Long id;           // null until the queued comment has been written
+    private Long postId;
+    private String authorName;
+    private String content;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeletedPostResponse {
+    private Long id;
+    private String slug;
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,26 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaResponse {
+    private Long id;
+    private String hash;
+    private String url;
+    private String contentType;
+    private Long size;
+    private Integer width;
+    private Integer height;
+    private Map<Integer, String> variants;  // width -> url, generated in the background
+    private boolean deduplicated;           // identical content was already stored
+    private LocalDateTime createdAt;
+}
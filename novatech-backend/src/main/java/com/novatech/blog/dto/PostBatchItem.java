@@ -0,0 +1,19 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One requested slug of a multi-get, in request order.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostBatchItem<T> {
+    private String slug;
+    private boolean found;
+    private T post;     // Full post, or only the requested attributes with fields=; null when not found
+}
@@ -0,0 +1,20 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of POST /api/posts/batch, for slug lists too long for a query string.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostBatchRequest {
+    private List<String> slugs;
+    private String fields;  // Optional, same as ?fields=
+}
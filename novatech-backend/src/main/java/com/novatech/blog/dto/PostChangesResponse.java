@@ -0,0 +1,20 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostChangesResponse {
+    private List<PostResponse> posts;          // Created or updated since the cursor
+    private List<DeletedPostResponse> deleted; // Tombstones since the cursor
+    private String cursor;                     // Pass as ?since= on the next call
+    private boolean hasMore;                   // Call again immediately with the new cursor
+    private boolean resetRequired;             // Cursor too old, drop local state and resync
+}
@@ -0,0 +1,105 @@
+package com.novatech.blog.dto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Parsed {@code fields=} parameter: the {@link PostResponse} attributes a client asked for,
+ * e.g. {@code fields=slug,title} for a navigation menu.
+ */
+public final class PostFields {
+
+    /** Every selectable attribute, in the order they are serialized. */
+    public static final List<String> ALL = List.of(
+            "id", "slug", "title", "excerpt", "content", "category", "tags",
+            "readTime", "createdAt", "updatedAt", "date");
+
+    private final List<String> names;
+
+    private PostFields(List<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Rejects empty selections and names that are not a {@link PostResponse} attribute.
+     */
+    public static PostFields parse(String fields) {
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+        if (requested.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one of " + ALL);
+        }
+        List<String> unknown = requested.stream().filter(name -> !ALL.contains(name)).sorted().toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown fields " + unknown + ", expected any of " + ALL);
+        }
+        return new PostFields(ALL.stream().filter(requested::contains).toList());
+    }
+
+    public boolean contains(String name) {
+        return names.contains(name);
+    }
+
+    /**
+     * Post columns to read: the requested scalar attributes plus whatever derived ones need.
+     * {@code id} is always read separately, {@code tags} comes from its own query.
+     */
+    public List<String> columns() {
+        List<String> columns = new ArrayList<>();
+        for (String name : names) {
+            switch (name) {
+                case "id", "tags" -> {
+                }
+                case "date" -> {
+                    if (!columns.contains("createdAt")) {
+                        columns.add("createdAt");
+                    }
+                }
+                default -> columns.add(name);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Canonical form, equal for equal selections regardless of the order they were requested in.
+     */
+    public String key() {
+        return String.join(",", names);
+    }
+
+    /**
+     * Keeps only the requested attributes of {@code values}, in serialization order.
+     */
+    public Map<String, Object> select(Map<String, Object> values) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (String name : names) {
+            selected.put(name, values.get(name));
+        }
+        return selected;
+    }
+
+    public Map<String, Object> project(PostResponse post) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", post.getId());
+        values.put("slug", post.getSlug());
+        values.put("title", post.getTitle());
+        values.put("excerpt", post.getExcerpt());
+        values.put("content", post.getContent());
+        values.put("category", post.getCategory());
+        values.put("tags", post.getTags());
+        values.put("readTime", post.getReadTime());
+        values.put("createdAt", post.getCreatedAt());
+        values.put("updatedAt", post.getUpdatedAt());
+        values.put("date", post.getDate());
+        return select(values);
+    }
+}
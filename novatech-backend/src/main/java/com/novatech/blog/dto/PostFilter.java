@@ -0,0 +1,46 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Query parameters of GET /api/posts. With none of them set the endpoint returns every post.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostFilter {
+    private String category;
+    private String tag;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+    
+    private String q;           // keyword in title or excerpt
+    private String sort;        // createdAt (default) or updatedAt
+    private String direction;   // desc (default) or asc
+    private Integer page;
+    private Integer size;
+    
+    public boolean isEmpty() {
+        return category == null && tag == null && from == null && to == null && q == null
+                && sort == null && direction == null && page == null && size == null;
+    }
+    
+    /**
+     * Identifies the filtered set regardless of sort and paging, used as the count cache key.
+     */
+    public String countKey() {
+        return category + "|" + tag + "|" + from + "|" + to + "|" + (q != null ? q.trim().toLowerCase(Locale.ROOT) : null);
+    }
+}
@@ -22,5 +22,6 @@ public class PostResponse {
     private List<String> tags;
     private String readTime;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
     private String date;  // Formatted date for frontend compatibility
 }
@@ -0,0 +1,21 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostRevisionResponse {
+    private Long postId;
+    private int revision;
+    private String title;
+    private String excerpt;
+    private String content;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Post without its content, for lists, feeds and snapshots
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostSummaryResponse {
+    private Long id;
+    private String slug;
+    private String title;
+    private String excerpt;
+    private String category;
+    private List<String> tags;
+    private String readTime;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String date;  // Formatted date for frontend compatibility
+}
@@ -0,0 +1,24 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReadModelVerifyResponse {
+    private long version;           // Snapshot version that was checked
+    private LocalDateTime builtAt;  // When that version was published
+    private int postsInDatabase;
+    private int postsInModel;
+    private List<String> missing;   // In DB, not in the model
+    private List<String> stale;     // Differs from DB
+    private List<String> orphaned;  // In the model, deleted from DB
+    private boolean consistent;
+}
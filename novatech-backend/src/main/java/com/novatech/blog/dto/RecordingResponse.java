@@ -0,0 +1,22 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecordingResponse {
+    private boolean running;
+    private LocalDateTime startedAt;  // Of the running recording
+    private long maxAgeMinutes;       // Older data is dropped from the running recording
+    private long maxSizeMb;
+    private String dumped;            // File written by this call, if any
+    private List<String> dumps;       // .jfr files in the dump directory, newest first
+}
@@ -0,0 +1,18 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RelatedPostResponse {
+    private Long id;
+    private String slug;
+    private String title;
+    private String category;
+    private double score;
+}
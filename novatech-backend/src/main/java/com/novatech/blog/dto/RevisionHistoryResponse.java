@@ -0,0 +1,19 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevisionHistoryResponse {
+    private Long postId;
+    private List<RevisionSummaryResponse> revisions;   // newest first
+    private long fullCopyBytes;   // storage if every revision were a full copy
+    private long storedBytes;
+}
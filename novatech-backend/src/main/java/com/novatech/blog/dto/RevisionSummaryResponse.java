@@ -0,0 +1,22 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevisionSummaryResponse {
+    private int revision;
+    private boolean snapshot;
+    private Integer baseRevision;   // snapshot a delta is rebuilt from, null for snapshots
+    private String title;
+    private int fullSize;           // bytes a plain copy of this revision would take
+    private int storedSize;         // bytes actually stored
+    private LocalDateTime createdAt;
+}
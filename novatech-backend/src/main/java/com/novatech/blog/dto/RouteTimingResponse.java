@@ -0,0 +1,21 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RouteTimingResponse {
+    private String route;                   // Method and matched pattern, e.g. "GET /api/posts/{slug}"
+    private long requests;                  // Timed requests in the window
+    private double avgMs;
+    private double maxMs;
+    private Map<String, Double> avgPhaseMs; // auth, db, convert, serialize; phases may overlap
+    private double avgStatements;           // SQL statements per request
+}
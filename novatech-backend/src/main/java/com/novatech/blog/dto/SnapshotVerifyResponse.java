@@ -0,0 +1,24 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SnapshotVerifyResponse {
+    private LocalDateTime generatedAt;
+    private int postsInDatabase;
+    private int postsInSnapshot;
+    private List<String> missing;   // In DB, not in snapshot
+    private List<String> stale;     // updatedAt differs from DB
+    private List<String> orphaned;  // In snapshot, deleted from DB
+    private List<String> corrupt;   // File on disk does not match manifest hash
+    private boolean consistent;
+}
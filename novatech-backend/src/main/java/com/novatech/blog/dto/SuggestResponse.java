@@ -0,0 +1,23 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Typeahead matches for one prefix, best first within each group. Groups that were not asked
+ * for are empty.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestResponse {
+    private String prefix;
+    private List<SuggestionResponse> posts;
+    private List<SuggestionResponse> tags;
+    private List<SuggestionResponse> categories;
+}
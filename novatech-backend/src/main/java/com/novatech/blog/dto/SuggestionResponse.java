@@ -0,0 +1,16 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestionResponse {
+    private String text;    // Post title, tag or category name
+    private String slug;    // Posts only
+    private long score;     // Views for a post, number of posts for a tag or category
+}
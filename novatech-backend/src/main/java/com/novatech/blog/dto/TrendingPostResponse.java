@@ -0,0 +1,17 @@
+package com.novatech.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrendingPostResponse {
+    private Long id;
+    private String slug;
+    private String title;
+    private double score;  // Time-decayed view count
+}
@@ -0,0 +1,46 @@
+package com.novatech.blog.entity;
+
+import com.novatech.blog.event.CacheInvalidationEvent.EntityType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 变更日志，写操作在同一事务中追加，各实例按 id 游标轮询以失效本地缓存
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_created_at", columnList = "created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    @Column(name = "entity_key")
+    private String entityKey;
+    
+    @Column(nullable = false)
+    private Boolean deleted;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
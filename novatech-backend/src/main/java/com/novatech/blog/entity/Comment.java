@@ -0,0 +1,39 @@
+package com.novatech.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章评论，由 CommentService 批量写入，按 (post_id, id) 做游标分页
+ */
+@Entity
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_post_id_id", columnList = "post_id, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Comment {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+    
+    @Column(name = "author_name", nullable = false, length = 50)
+    private String authorName;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,49 @@
+package com.novatech.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 上传的媒体文件，按内容的 SHA-256 存储，相同内容只保存一份
+ */
+@Entity
+@Table(name = "media_assets")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaAsset {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, unique = true, length = 64)
+    private String hash;
+    
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+    
+    @Column(nullable = false, length = 10)
+    private String extension;
+    
+    @Column(nullable = false)
+    private Long size;
+    
+    private Integer width;
+    
+    private Integer height;
+    
+    @Column(name = "original_filename")
+    private String originalFilename;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
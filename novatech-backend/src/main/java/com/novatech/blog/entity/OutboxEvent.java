@@ -0,0 +1,62 @@
+package com.novatech.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 待分发的领域事件，与文章变更在同一事务中写入，分发成功后删除
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_post_id_id", columnList = "post_id, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+    
+    @Column(name = "event_type", nullable = false, length = 20)
+    private String eventType;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+    
+    // Claim token of the batch that is dispatching the row; other instances skip it until lease_until
+    @Column(name = "lease_owner", length = 36)
+    private String leaseOwner;
+    
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    
+    // Set once max attempts are exhausted; the row is kept for inspection but no longer dispatched
+    @Column(name = "dead_at")
+    private LocalDateTime deadAt;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,7 +14,11 @@ import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_updated_at", columnList = "updated_at, id"),
+        @Index(name = "idx_posts_created_at", columnList = "created_at, id"),
+        @Index(name = "idx_posts_category_created_at", columnList = "category_id, created_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -40,6 +46,7 @@ public class Post {
     private Category category;
     
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
         name = "post_tags",
         joinColumns = @JoinColumn(name = "post_id"),
@@ -0,0 +1,26 @@
+package com.novatech.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 文章评论数，单独成表，避免每条评论都锁住 posts 行
+ */
+@Entity
+@Table(name = "post_comment_counts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCommentCount {
+    
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+    
+    @Column(name = "comment_count", nullable = false)
+    private Long commentCount;
+}
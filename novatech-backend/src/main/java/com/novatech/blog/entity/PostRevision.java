@@ -0,0 +1,64 @@
+package com.novatech.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章历史版本：快照保存压缩后的完整正文，增量版本只保存相对最近快照的差异
+ */
+@Entity
+@Table(name = "post_revisions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_post_revisions_post_revision", columnNames = {"post_id", "revision"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostRevision {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+    
+    @Column(nullable = false)
+    private Integer revision;
+    
+    /**
+     * 增量版本所基于的快照版本号，快照自身为 null
+     */
+    @Column(name = "base_revision")
+    private Integer baseRevision;
+    
+    @Column(nullable = false)
+    private String title;
+    
+    @Column(length = 500)
+    private String excerpt;
+    
+    @Column(nullable = false, length = 16777215)
+    private byte[] data;
+    
+    /**
+     * 以完整副本保存时需要的字节数，用于统计压缩效果
+     */
+    @Column(name = "full_size", nullable = false)
+    private Integer fullSize;
+    
+    @Column(name = "stored_size", nullable = false)
+    private Integer storedSize;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    public boolean isSnapshot() {
+        return baseRevision == null;
+    }
+}
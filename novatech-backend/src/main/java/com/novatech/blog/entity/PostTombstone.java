@@ -0,0 +1,38 @@
+package com.novatech.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 已删除文章的记录，供增量同步接口告知客户端删除
+ */
+@Entity
+@Table(name = "post_tombstones", indexes = {
+        @Index(name = "idx_post_tombstones_deleted_at", columnList = "deleted_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostTombstone {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+    
+    @Column(nullable = false)
+    private String slug;
+    
+    @CreationTimestamp
+    @Column(name = "deleted_at", updatable = false)
+    private LocalDateTime deletedAt;
+}
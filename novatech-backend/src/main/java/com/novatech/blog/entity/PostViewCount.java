@@ -0,0 +1,31 @@
+package com.novatech.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章阅读数，单独成表，避免累加时锁住 posts 行
+ */
+@Entity
+@Table(name = "post_views")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostViewCount {
+    
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+    
+    @Column(nullable = false)
+    private Long views;
+    
+    @Column(name = "last_viewed_at")
+    private LocalDateTime lastViewedAt;
+}
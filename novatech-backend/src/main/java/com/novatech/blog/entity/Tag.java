@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,6 +16,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "tags")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @Builder
 @NoArgsConstructor
@@ -29,6 +34,11 @@ public class Tag {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
     
+    /**
+     * 反向关联不参与 equals/hashCode/toString，否则与 Post.tags 互相递归
+     */
     @ManyToMany(mappedBy = "tags", fetch = FetchType.LAZY)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Post> posts;
 }
\ No newline at end of file
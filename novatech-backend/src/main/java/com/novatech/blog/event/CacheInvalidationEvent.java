@@ -0,0 +1,34 @@
+package com.novatech.blog.event;
+
+import com.novatech.blog.dto.PostResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 本实例内存缓存的失效通知，由 ChangeLogTailer 读取 change_log 后在每个实例上发布。
+ * 对文章而言 post 为数据库中的最新数据，已删除时为 null。
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheInvalidationEvent {
+    
+    public enum EntityType {
+        POST,
+        CATEGORY,
+        TAG,
+        USER,
+        TOKEN
+    }
+    
+    private EntityType entityType;
+    private Long entityId;
+    private String key;
+    private boolean deleted;
+    private PostResponse post;
+    
+    public boolean isPost() {
+        return entityType == EntityType.POST;
+    }
+}
@@ -0,0 +1,39 @@
+package com.novatech.blog.event;
+
+import com.novatech.blog.dto.PostResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 文章变更事件，由 PostService 在写事务中写入 outbox，提交后由 OutboxService 分发（至少一次）。
+ * post 为变更后的完整数据，删除时为 null。
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostChangedEvent {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+    
+    private Type type;
+    private Long postId;
+    private String slug;
+    private PostResponse post;
+    
+    public static PostChangedEvent created(PostResponse post) {
+        return new PostChangedEvent(Type.CREATED, post.getId(), post.getSlug(), post);
+    }
+    
+    public static PostChangedEvent updated(PostResponse post) {
+        return new PostChangedEvent(Type.UPDATED, post.getId(), post.getSlug(), post);
+    }
+    
+    public static PostChangedEvent deleted(Long postId, String slug) {
+        return new PostChangedEvent(Type.DELETED, postId, slug, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.novatech.blog.exception;
+
+/**
+ * 服务暂时不可用（超时、熔断、队列已满等），映射为 503
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
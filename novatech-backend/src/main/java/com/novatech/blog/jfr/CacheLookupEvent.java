@@ -0,0 +1,34 @@
+package com.novatech.blog.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.novatech.blog.CacheLookup")
+@Label("Read Cache Lookup")
+@Category({"NovaTech Blog", "Cache"})
+@Description("A read-cache lookup, including the database load on a miss")
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    @Label("Group")
+    public String group;
+
+    @Label("Key")
+    @Description("Looked up key; empty for multi-key lookups")
+    public String key;
+
+    @Label("Outcome")
+    @Description("fresh, stale, load or fallback; for multi-key lookups the outcome of the misses")
+    public String outcome;
+
+    @Label("Keys")
+    public int keys;
+
+    @Label("Loaded")
+    @Description("Keys that had to be loaded from the database")
+    public int loaded;
+}
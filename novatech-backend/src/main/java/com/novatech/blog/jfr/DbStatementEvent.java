@@ -0,0 +1,26 @@
+package com.novatech.blog.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.novatech.blog.DbStatement")
+@Label("DB Statement")
+@Category({"NovaTech Blog", "Database"})
+@Description("A JDBC statement, from execute until its result set is closed")
+@StackTrace(false)
+public class DbStatementEvent extends Event {
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Route")
+    public String route;
+
+    @Label("Rows")
+    @Description("Rows read, or rows changed by an update; -1 when unknown")
+    public long rows;
+}
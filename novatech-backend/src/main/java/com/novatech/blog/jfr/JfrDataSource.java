@@ -0,0 +1,127 @@
+package com.novatech.blog.jfr;
+
+import com.novatech.blog.timing.RequestRoute;
+import jdk.jfr.EventType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Emits a {@link DbStatementEvent} per statement executed through the wrapped pool.
+ * <p>
+ * Connections are only proxied while the event is enabled in a running recording, so without one
+ * the pool is used as is. Queries are reported when their result set is closed, so the duration
+ * and row count include fetching.
+ */
+public class JfrDataSource extends DelegatingDataSource {
+
+    private static final int MAX_SQL_LENGTH = 2000;
+    private static final EventType EVENT_TYPE = EventType.getEventType(DbStatementEvent.class);
+
+    public JfrDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrument(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrument(super.getConnection(username, password));
+    }
+
+    private static Connection instrument(Connection connection) {
+        if (!EVENT_TYPE.isEnabled()) {
+            return connection;
+        }
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                default -> result;
+            };
+        });
+    }
+
+    private static <S extends Statement> S statement(Class<S> type, Statement statement, String preparedSql) {
+        return proxy(type, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            DbStatementEvent event = new DbStatementEvent();
+            event.begin();
+            Object result = invoke(statement, method, args);
+            if (result instanceof ResultSet resultSet) {
+                return resultSet(resultSet, event, sql);
+            }
+            event.rows = rowsChanged(result);
+            commit(event, sql);
+            return result;
+        });
+    }
+
+    private static ResultSet resultSet(ResultSet resultSet, DbStatementEvent event, String sql) {
+        event.rows = 0;
+        boolean[] closed = new boolean[1];
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            Object result = invoke(resultSet, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                event.rows++;
+            } else if ("close".equals(method.getName()) && !closed[0]) {
+                closed[0] = true;
+                commit(event, sql);
+            }
+            return result;
+        });
+    }
+
+    // execute() answers true for a query or false for an update; neither is a row count
+    private static long rowsChanged(Object result) {
+        if (result instanceof Number count) {
+            return count.longValue();
+        }
+        if (result instanceof int[] counts) {
+            return Arrays.stream(counts).filter(count -> count > 0).sum();
+        }
+        if (result instanceof long[] counts) {
+            return Arrays.stream(counts).filter(count -> count > 0).sum();
+        }
+        return -1;
+    }
+
+    private static void commit(DbStatementEvent event, String sql) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.sql = sql != null && sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) : sql;
+            event.route = RequestRoute.current();
+            event.commit();
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(JfrDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
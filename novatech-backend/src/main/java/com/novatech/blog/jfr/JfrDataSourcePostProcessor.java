@@ -0,0 +1,21 @@
+package com.novatech.blog.jfr;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes the application's connection pool through {@link JfrDataSource}.
+ */
+@Component
+public class JfrDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof JfrDataSource)) {
+            return new JfrDataSource(dataSource);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,23 @@
+package com.novatech.blog.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.novatech.blog.JwtVerification")
+@Label("JWT Verification")
+@Category({"NovaTech Blog", "Security"})
+@Description("Parsing, revocation check and validation of a bearer token, including the user lookup")
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Username")
+    public String username;
+
+    @Label("Outcome")
+    @Description("valid, invalid, revoked or error")
+    public String outcome;
+}
@@ -0,0 +1,20 @@
+package com.novatech.blog.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.novatech.blog.Serialization")
+@Label("Response Serialization")
+@Category({"NovaTech Blog", "Web"})
+@StackTrace(false)
+public class SerializationEvent extends Event {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Route")
+    public String route;
+}
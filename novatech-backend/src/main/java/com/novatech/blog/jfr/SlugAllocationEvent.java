@@ -0,0 +1,20 @@
+package com.novatech.blog.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.novatech.blog.SlugAllocation")
+@Label("Slug Allocation")
+@Category({"NovaTech Blog", "Posts"})
+@StackTrace(false)
+public class SlugAllocationEvent extends Event {
+
+    @Label("Slug")
+    public String slug;
+
+    @Label("Collided")
+    public boolean collided;
+}
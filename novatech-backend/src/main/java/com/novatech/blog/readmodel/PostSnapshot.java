@@ -0,0 +1,268 @@
+package com.novatech.blog.readmodel;
+
+import com.novatech.blog.dto.PostResponse;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * One immutable version of every post, with the lookups the public read endpoints need.
+ * <p>
+ * Nothing in a snapshot changes after construction; {@link #apply} returns a new version instead.
+ * The new version shares the post objects and the per-category and per-tag lists that the change
+ * did not touch, and only rebuilds the id and slug tables and the lists of affected names.
+ * Posts are handed out as they are stored, so callers must treat them as read-only.
+ */
+public final class PostSnapshot {
+
+    /** Same order as the database listing: newest first, id breaking ties. */
+    public static final Comparator<PostResponse> NEWEST_FIRST = Comparator
+            .comparing(PostResponse::getCreatedAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparing(PostResponse::getId, Comparator.reverseOrder());
+
+    private final long version;
+    private final LocalDateTime builtAt;
+    private final Map<Long, PostResponse> byId;
+    private final Map<String, PostResponse> bySlug;
+    private final List<PostResponse> newestFirst;
+    private final Map<String, List<PostResponse>> byCategory;
+    private final Map<String, List<PostResponse>> byTag;
+    private final List<String> categories;
+    private final List<String> tags;
+
+    private PostSnapshot(long version, Map<Long, PostResponse> byId, Map<String, PostResponse> bySlug,
+                         List<PostResponse> newestFirst, Map<String, List<PostResponse>> byCategory,
+                         Map<String, List<PostResponse>> byTag) {
+        this.version = version;
+        this.builtAt = LocalDateTime.now();
+        this.byId = Collections.unmodifiableMap(byId);
+        this.bySlug = Collections.unmodifiableMap(bySlug);
+        this.newestFirst = newestFirst;
+        this.byCategory = Collections.unmodifiableMap(byCategory);
+        this.byTag = Collections.unmodifiableMap(byTag);
+        this.categories = List.copyOf(new TreeSet<>(byCategory.keySet()));
+        this.tags = List.copyOf(new TreeSet<>(byTag.keySet()));
+    }
+
+    public static PostSnapshot of(Collection<PostResponse> posts, long version) {
+        Map<Long, PostResponse> byId = new HashMap<>();
+        Map<String, PostResponse> bySlug = new HashMap<>();
+        for (PostResponse post : posts) {
+            PostResponse frozen = freeze(post);
+            byId.put(frozen.getId(), frozen);
+            bySlug.put(frozen.getSlug(), frozen);
+        }
+        List<PostResponse> newestFirst = sorted(byId.values());
+        return new PostSnapshot(version, byId, bySlug, newestFirst,
+                group(newestFirst, post -> post.getCategory() != null ? List.of(post.getCategory()) : List.of()),
+                group(newestFirst, PostResponse::getTags));
+    }
+
+    /**
+     * The next version with {@code upserts} added or replaced and {@code deletedIds} removed. An
+     * upsert older than the stored post, by {@code updatedAt}, is skipped: change log deliveries
+     * can arrive after the writer already applied a newer state.
+     */
+    public PostSnapshot apply(Collection<PostResponse> upserts, Collection<Long> deletedIds) {
+        Map<Long, PostResponse> nextById = new HashMap<>(byId);
+        Map<String, PostResponse> nextBySlug = new HashMap<>(bySlug);
+        Set<Long> changed = new HashSet<>();
+        List<PostResponse> added = new ArrayList<>();
+        Set<String> touchedCategories = new HashSet<>();
+        Set<String> touchedTags = new HashSet<>();
+
+        for (Long id : deletedIds) {
+            PostResponse old = nextById.remove(id);
+            if (old != null) {
+                nextBySlug.remove(old.getSlug(), old);
+                changed.add(id);
+                touch(old, touchedCategories, touchedTags);
+            }
+        }
+        for (PostResponse upsert : upserts) {
+            PostResponse old = nextById.get(upsert.getId());
+            if (old != null && isOlder(upsert, old)) {
+                continue;
+            }
+            PostResponse post = freeze(upsert);
+            if (post.equals(old)) {
+                // Usually the change log echoing a commit the writer already applied
+                continue;
+            }
+            nextById.put(post.getId(), post);
+            if (old != null) {
+                nextBySlug.remove(old.getSlug(), old);
+                touch(old, touchedCategories, touchedTags);
+                added.remove(old);
+            }
+            nextBySlug.put(post.getSlug(), post);
+            changed.add(post.getId());
+            added.add(post);
+            touch(post, touchedCategories, touchedTags);
+        }
+        if (changed.isEmpty()) {
+            return this;
+        }
+
+        added.sort(NEWEST_FIRST);
+        Map<String, List<PostResponse>> nextByCategory = new HashMap<>(byCategory);
+        for (String category : touchedCategories) {
+            regroup(nextByCategory, category, changed, added, post -> category.equals(post.getCategory()));
+        }
+        Map<String, List<PostResponse>> nextByTag = new HashMap<>(byTag);
+        for (String tag : touchedTags) {
+            regroup(nextByTag, tag, changed, added, post -> post.getTags().contains(tag));
+        }
+        return new PostSnapshot(version + 1, nextById, nextBySlug, merge(newestFirst, changed, added),
+                nextByCategory, nextByTag);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public LocalDateTime builtAt() {
+        return builtAt;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public PostResponse byId(Long id) {
+        return byId.get(id);
+    }
+
+    public PostResponse bySlug(String slug) {
+        return bySlug.get(slug);
+    }
+
+    public Collection<PostResponse> all() {
+        return byId.values();
+    }
+
+    public List<PostResponse> newestFirst() {
+        return newestFirst;
+    }
+
+    /**
+     * Posts in the category, newest first.
+     */
+    public List<PostResponse> inCategory(String category) {
+        return byCategory.getOrDefault(category, List.of());
+    }
+
+    /**
+     * Posts with the tag, newest first.
+     */
+    public List<PostResponse> taggedWith(String tag) {
+        return byTag.getOrDefault(tag, List.of());
+    }
+
+    /**
+     * Category names with at least one post, sorted.
+     */
+    public List<String> categories() {
+        return categories;
+    }
+
+    /**
+     * Tag names with at least one post, sorted.
+     */
+    public List<String> tags() {
+        return tags;
+    }
+
+    // Whole seconds only: the writer's copy has the JVM clock's precision, the database's may have less
+    private static boolean isOlder(PostResponse candidate, PostResponse stored) {
+        return candidate.getUpdatedAt() != null && stored.getUpdatedAt() != null
+                && candidate.getUpdatedAt().truncatedTo(ChronoUnit.SECONDS)
+                .isBefore(stored.getUpdatedAt().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private static void touch(PostResponse post, Set<String> categories, Set<String> tags) {
+        if (post.getCategory() != null) {
+            categories.add(post.getCategory());
+        }
+        tags.addAll(post.getTags());
+    }
+
+    private static void regroup(Map<String, List<PostResponse>> groups, String name, Set<Long> changed,
+                                List<PostResponse> added, Predicate<PostResponse> member) {
+        List<PostResponse> joining = added.stream().filter(member).toList();
+        List<PostResponse> next = merge(groups.getOrDefault(name, List.of()), changed, joining);
+        if (next.isEmpty()) {
+            groups.remove(name);
+        } else {
+            groups.put(name, next);
+        }
+    }
+
+    /**
+     * {@code sorted} without the changed posts, with {@code additions} (sorted too) merged in.
+     */
+    private static List<PostResponse> merge(List<PostResponse> sorted, Set<Long> changed, List<PostResponse> additions) {
+        List<PostResponse> result = new ArrayList<>(sorted.size() + additions.size());
+        int next = 0;
+        for (PostResponse post : sorted) {
+            if (changed.contains(post.getId())) {
+                continue;
+            }
+            while (next < additions.size() && NEWEST_FIRST.compare(additions.get(next), post) < 0) {
+                result.add(additions.get(next++));
+            }
+            result.add(post);
+        }
+        result.addAll(additions.subList(next, additions.size()));
+        return Collections.unmodifiableList(result);
+    }
+
+    private static List<PostResponse> sorted(Collection<PostResponse> posts) {
+        List<PostResponse> result = new ArrayList<>(posts);
+        result.sort(NEWEST_FIRST);
+        return Collections.unmodifiableList(result);
+    }
+
+    // Lists are already newest first, so every group comes out sorted as well
+    private static Map<String, List<PostResponse>> group(List<PostResponse> newestFirst,
+                                                         Function<PostResponse, List<String>> names) {
+        Map<String, List<PostResponse>> groups = new HashMap<>();
+        for (PostResponse post : newestFirst) {
+            for (String name : names.apply(post)) {
+                groups.computeIfAbsent(name, k -> new ArrayList<>()).add(post);
+            }
+        }
+        groups.replaceAll((name, members) -> Collections.unmodifiableList(members));
+        return groups;
+    }
+
+    // A private copy with an immutable tag list, so nothing the writer still holds can change it
+    private static PostResponse freeze(PostResponse post) {
+        return PostResponse.builder()
+                .id(post.getId())
+                .slug(post.getSlug())
+                .title(post.getTitle())
+                .excerpt(post.getExcerpt())
+                .content(post.getContent())
+                .category(post.getCategory())
+                .tags(post.getTags() != null ? List.copyOf(new LinkedHashSet<>(post.getTags())) : List.of())
+                .readTime(post.getReadTime())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .date(post.getDate())
+                .build();
+    }
+}
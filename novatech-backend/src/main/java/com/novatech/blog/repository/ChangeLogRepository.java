@@ -0,0 +1,26 @@
+package com.novatech.blog.repository;
+
+import com.novatech.blog.entity.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+    
+    @Query("SELECT e FROM ChangeLogEntry e WHERE e.id > :afterId ORDER BY e.id")
+    List<ChangeLogEntry> findAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM ChangeLogEntry e")
+    Long findMaxId();
+    
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry e WHERE e.createdAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,20 @@
+package com.novatech.blog.repository;
+
+import com.novatech.blog.entity.Comment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+    
+    /**
+     * Keyset page of a post's thread, oldest first; served by the (post_id, id) index.
+     */
+    @Query("SELECT c FROM Comment c WHERE c.postId = :postId AND c.id > :afterId ORDER BY c.id")
+    List<Comment> findPage(@Param("postId") Long postId, @Param("afterId") Long afterId, Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package com.novatech.blog.repository;
+
+import com.novatech.blog.entity.MediaAsset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MediaAssetRepository extends JpaRepository<MediaAsset, Long> {
+    
+    Optional<MediaAsset> findByHash(String hash);
+}
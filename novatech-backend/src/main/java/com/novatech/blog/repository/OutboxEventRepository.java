@@ -0,0 +1,43 @@
+package com.novatech.blog.repository;
+
+import com.novatech.blog.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    /**
+     * 可分发的事件 id：每篇文章最早的未放弃事件，且不在退避中、未被其他实例租用
+     */
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.deadAt IS NULL " +
+           "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now) " +
+           "AND (e.leaseUntil IS NULL OR e.leaseUntil < :now) " +
+           "AND NOT EXISTS (SELECT 1 FROM OutboxEvent p WHERE p.postId = e.postId AND p.id < e.id AND p.deadAt IS NULL) " +
+           "ORDER BY e.id")
+    List<Long> findDispatchableIds(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    /**
+     * 以租约认领事件，已被其他实例认领的行不受影响
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.leaseOwner = :owner, e.leaseUntil = :until " +
+           "WHERE e.id IN :ids AND e.deadAt IS NULL AND (e.leaseUntil IS NULL OR e.leaseUntil < :now)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+    
+    /**
+     * 某次认领得到的事件，按 id 排序
+     */
+    List<OutboxEvent> findByLeaseOwnerOrderById(String leaseOwner);
+}
@@ -0,0 +1,9 @@
+package com.novatech.blog.repository;
+
+import com.novatech.blog.entity.PostCommentCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PostCommentCountRepository extends JpaRepository<PostCommentCount, Long> {
+}
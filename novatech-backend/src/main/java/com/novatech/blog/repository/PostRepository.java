@@ -1,28 +1,154 @@
 package com.novatech.blog.repository;
 
+import com.novatech.blog.entity.Category;
 import com.novatech.blog.entity.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificationExecutor<Post> {
+public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificationExecutor<Post>, PostRepositoryCustom {
     Optional<Post> findBySlug(String slug);
+    
+    /**
+     * 按 slug 查询文章，同时加载分类和标签
+     */
+    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.tags WHERE p.slug = :slug")
+    Optional<Post> findWithCategoryAndTagsBySlug(@Param("slug") String slug);
     boolean existsBySlug(String slug);
     
+    @Query("SELECT p.id FROM Post p WHERE p.slug = :slug")
+    Optional<Long> findIdBySlug(@Param("slug") String slug);
+    
     /**
      * 获取所有不重复的分类
      */
     @Query("SELECT DISTINCT c.name FROM Post p JOIN p.category c ORDER BY c.name")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<String> findDistinctCategories();
     
     /**
      * 获取所有标签（去重）
      */
     @Query("SELECT DISTINCT t.name FROM Post p JOIN p.tags t ORDER BY t.name")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<String> findAllTags();
-}
\ No newline at end of file
+
+    /**
+     * 一次性加载所有文章及其分类、标签，用于构建内存索引
+     */
+    @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.tags")
+    List<Post> findAllWithCategoryAndTags();
+
+    /**
+     * 全部文章的 id、slug、标题和分类名（不加载正文），用于输入提示索引
+     */
+    @Query("SELECT p.id, p.slug, p.title, c.name FROM Post p LEFT JOIN p.category c")
+    List<Object[]> findIdSlugTitleAndCategory();
+
+    /**
+     * 按 id 批量查询 slug、标题和发布时间（不加载正文）
+     */
+    @Query("SELECT p.id, p.slug, p.title, p.createdAt FROM Post p WHERE p.id IN :ids")
+    List<Object[]> findSlugTitleAndCreatedAtByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 文章摘要列表（不含正文），按发布时间倒序
+     */
+    @Query("SELECT p.id, p.slug, p.title, p.excerpt, c.name, p.readTime, p.createdAt, p.updatedAt " +
+           "FROM Post p LEFT JOIN p.category c ORDER BY p.createdAt DESC, p.id DESC")
+    List<Object[]> findSummaries(Pageable pageable);
+
+    /**
+     * 所有文章的 (文章id, 标签名)
+     */
+    @Query("SELECT p.id, t.name FROM Post p JOIN p.tags t")
+    List<Object[]> findAllPostTagNames();
+
+    /**
+     * 指定文章的 (文章id, 标签名)
+     */
+    @Query("SELECT p.id, t.name FROM Post p JOIN p.tags t WHERE p.id IN :ids")
+    List<Object[]> findPostTagNamesByPostIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按 id 顺序分批读取 (id, slug, 更新时间)，用于生成 sitemap
+     */
+    @Query("SELECT p.id, p.slug, p.updatedAt FROM Post p WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findSitemapEntriesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p ORDER BY p.id")
+    List<Long> findIdsOrderById(Pageable pageable);
+
+    /**
+     * 批量操作：按 id 或过滤条件选出 (id, slug)
+     */
+    @Query("SELECT p.id, p.slug FROM Post p WHERE p.id IN :ids")
+    List<Object[]> findIdAndSlugByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT p.id, p.slug FROM Post p LEFT JOIN p.category c LEFT JOIN p.tags t " +
+           "WHERE (:category IS NULL OR c.name = :category) AND (:tag IS NULL OR t.name = :tag)")
+    List<Object[]> findIdAndSlugByFilter(@Param("category") String category, @Param("tag") String tag);
+
+    @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.tags WHERE p.id IN :ids")
+    List<Post> findAllWithCategoryAndTagsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 按 slug 列表批量查询文章，同时加载分类和标签
+     */
+    @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.tags WHERE p.slug IN :slugs")
+    List<Post> findAllWithCategoryAndTagsBySlugIn(@Param("slugs") Collection<String> slugs);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM post_tags WHERE post_id IN (:ids)", nativeQuery = true)
+    int bulkDeleteTagLinks(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Post p WHERE p.id IN :ids")
+    int bulkDeleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Post p SET p.category = :category, p.updatedAt = :now WHERE p.id IN :ids")
+    int bulkUpdateCategory(@Param("ids") Collection<Long> ids,
+                           @Param("category") Category category,
+                           @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO post_tags (post_id, tag_id) " +
+                   "SELECT p.id, t.id FROM posts p CROSS JOIN tags t " +
+                   "WHERE p.id IN (:postIds) AND t.id IN (:tagIds) " +
+                   "AND NOT EXISTS (SELECT 1 FROM post_tags pt WHERE pt.post_id = p.id AND pt.tag_id = t.id)",
+           nativeQuery = true)
+    int bulkAddTagLinks(@Param("postIds") Collection<Long> postIds, @Param("tagIds") Collection<Long> tagIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM post_tags WHERE post_id IN (:postIds) AND tag_id IN (:tagIds)", nativeQuery = true)
+    int bulkRemoveTagLinks(@Param("postIds") Collection<Long> postIds, @Param("tagIds") Collection<Long> tagIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Post p SET p.updatedAt = :now WHERE p.id IN :ids")
+    int bulkTouch(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * 增量同步：按 (updatedAt, id) 游标取变更过的文章 id，走 idx_posts_updated_at
+     */
+    @Query("SELECT p.id FROM Post p " +
+           "WHERE (p.updatedAt > :since OR (p.updatedAt = :since AND p.id > :afterId)) " +
+           "AND p.updatedAt <= :settledBefore ORDER BY p.updatedAt, p.id")
+    List<Long> findChangedIdsAfter(@Param("since") LocalDateTime since,
+                                   @Param("afterId") Long afterId,
+                                   @Param("settledBefore") LocalDateTime settledBefore,
+                                   Pageable pageable);
+}
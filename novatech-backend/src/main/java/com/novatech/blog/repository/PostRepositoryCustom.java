@@ -0,0 +1,24 @@
+package com.novatech.blog.repository;
+
+import com.novatech.blog.entity.Post;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PostRepositoryCustom {
+    
+    /**
+     * Ids of one page of posts matching the specification, without the count query that
+     * {@code findAll(Specification, Pageable)} always issues.
+     */
+    List<Long> findIds(Specification<Post> specification, Sort sort, long offset, int limit);
+    
+    /**
+     * Only the given Post attributes of the posts with the given ids, or of every post when
+     * {@code ids} is null; {@code category} reads the category name. Each row starts with the
+     * post id, followed by the attributes in the order given.
+     */
+    List<Object[]> findColumns(Collection<Long> ids, List<String> attributes);
+}
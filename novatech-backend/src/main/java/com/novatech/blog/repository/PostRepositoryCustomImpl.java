@@ -0,0 +1,63 @@
+package com.novatech.blog.repository;
+
+import com.novatech.blog.entity.Post;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+class PostRepositoryCustomImpl implements PostRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Long> findIds(Specification<Post> specification, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Post> root = query.from(Post.class);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root.get("id"));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    
+    @Override
+    public List<Object[]> findColumns(Collection<Long> ids, List<String> attributes) {
+        if (ids != null && ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Post> root = query.from(Post.class);
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id"));
+        for (String attribute : attributes) {
+            selections.add("category".equals(attribute)
+                    ? root.join("category", JoinType.LEFT).get("name")
+                    : root.get(attribute));
+        }
+        query.multiselect(selections);
+        if (ids != null) {
+            query.where(root.get("id").in(ids));
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+}
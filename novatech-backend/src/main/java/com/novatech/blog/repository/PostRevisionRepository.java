@@ -0,0 +1,27 @@
+package com.novatech.blog.repository;
+
+import com.novatech.blog.entity.PostRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PostRevisionRepository extends JpaRepository<PostRevision, Long> {
+    
+    Optional<PostRevision> findByPostIdAndRevision(Long postId, Integer revision);
+    
+    Optional<PostRevision> findFirstByPostIdOrderByRevisionDesc(Long postId);
+    
+    boolean existsByPostId(Long postId);
+    
+    /**
+     * 版本列表（不加载 data），最新在前
+     */
+    @Query("SELECT r.revision, r.baseRevision, r.title, r.fullSize, r.storedSize, r.createdAt " +
+           "FROM PostRevision r WHERE r.postId = :postId ORDER BY r.revision DESC")
+    List<Object[]> findSummariesByPostId(@Param("postId") Long postId);
+}
@@ -0,0 +1,56 @@
+package com.novatech.blog.repository;
+
+import com.novatech.blog.entity.Post;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Building blocks for filtered post queries. Each one maps to an indexed lookup except
+ * {@link #keyword}, which is a substring match and must be combined with a narrowing filter.
+ */
+public final class PostSpecifications {
+
+    private PostSpecifications() {
+    }
+
+    public static Specification<Post> inCategory(String category) {
+        return (root, query, cb) -> cb.equal(root.join("category").get("name"), category);
+    }
+
+    /**
+     * Semi-join on post_tags rather than a join, so a post never appears twice.
+     */
+    public static Specification<Post> taggedWith(String tag) {
+        return (root, query, cb) -> {
+            Subquery<Long> tagged = query.subquery(Long.class);
+            Root<Post> post = tagged.from(Post.class);
+            Join<Object, Object> tags = post.join("tags");
+            tagged.select(post.get("id")).where(cb.equal(tags.get("name"), tag));
+            return root.get("id").in(tagged);
+        };
+    }
+
+    public static Specification<Post> createdFrom(LocalDate from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from.atStartOfDay());
+    }
+
+    // Inclusive of the whole "to" day
+    public static Specification<Post> createdUntil(LocalDate to) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to.plusDays(1).atStartOfDay());
+    }
+
+    public static Specification<Post> keyword(String keyword) {
+        String pattern = "%" + keyword.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern, '\\'),
+                cb.like(cb.lower(root.get("excerpt")), pattern, '\\'));
+    }
+}
@@ -0,0 +1,28 @@
+package com.novatech.blog.repository;
+
+import com.novatech.blog.entity.PostTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PostTombstoneRepository extends JpaRepository<PostTombstone, Long> {
+    
+    /**
+     * 游标之后、且已稳定（早于 settledBefore）的删除记录
+     */
+    @Query("SELECT t FROM PostTombstone t WHERE t.id > :afterId AND t.deletedAt <= :settledBefore ORDER BY t.id")
+    List<PostTombstone> findChangesAfter(@Param("afterId") Long afterId,
+                                         @Param("settledBefore") LocalDateTime settledBefore,
+                                         Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM PostTombstone t WHERE t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
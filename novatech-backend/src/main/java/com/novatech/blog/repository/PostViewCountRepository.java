@@ -0,0 +1,25 @@
+package com.novatech.blog.repository;
+
+import com.novatech.blog.entity.PostViewCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PostViewCountRepository extends JpaRepository<PostViewCount, Long> {
+    
+    /**
+     * 阅读数最高的文章 id，用于启动预热
+     */
+    @Query("SELECT v.postId FROM PostViewCount v ORDER BY v.views DESC")
+    List<Long> findMostViewedPostIds(Pageable pageable);
+    
+    /**
+     * 某时间之后有新阅读的文章
+     */
+    List<PostViewCount> findByLastViewedAtAfter(LocalDateTime since);
+}
@@ -4,6 +4,10 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.novatech.blog.jfr.JwtVerificationEvent;
+import com.novatech.blog.service.TokenRevocationService;
+import com.novatech.blog.timing.ServerTiming;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -22,6 +26,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
     
     @Override
     protected void doFilterInternal(
@@ -29,34 +34,60 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
-        
+        long started = ServerTiming.start();
+        try {
+            authenticate(request);
+        } finally {
+            ServerTiming.stop(ServerTiming.Phase.AUTH, started);
+        }
+        filterChain.doFilter(request, response);
+    }
+    
+    private void authenticate(HttpServletRequest request) {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
         final String username;
         
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
             return;
         }
         
-        jwt = authHeader.substring(7);
-        username = jwtUtil.extractUsername(jwt);
-        
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        event.outcome = "error";  // Kept if parsing or the user lookup throws
+        try {
+            jwt = authHeader.substring(7);
+            // The signature is verified once here; everything below reads these claims
+            Claims claims = jwtUtil.extractAllClaims(jwt);
+            username = claims.getSubject();
+            event.username = username;
+            
+            // Logged out tokens are treated as anonymous; the Bloom filter makes this free for the rest
+            if (tokenRevocationService.isRevoked(claims.getId())) {
+                event.outcome = "revoked";
+                return;
+            }
             
-            if (jwtUtil.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            event.outcome = "invalid";
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                
+                if (jwtUtil.isTokenValid(claims, userDetails)) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+                    authToken.setDetails(
+                            new WebAuthenticationDetailsSource().buildDetails(request)
+                    );
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    ServerTiming.authenticated(authToken);
+                    event.outcome = "valid";
+                }
             }
+        } finally {
+            event.commit();
         }
-        filterChain.doFilter(request, response);
     }
 }
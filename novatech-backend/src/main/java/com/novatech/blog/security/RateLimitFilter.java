@@ -0,0 +1,216 @@
+package com.novatech.blog.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novatech.blog.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client, per-route-class token bucket, applied before JWT authentication.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the GCRA "theoretical arrival time",
+ * which is equivalent to a token bucket but can be updated with one CAS and no lock.
+ * A bucket whose arrival time has passed is full, so it can be dropped without changing
+ * behaviour; idle buckets are swept periodically and the map is capped at max-clients.
+ * Once it is full, newcomers share one bucket per route class until the next sweep, so a flood
+ * of distinct clients never costs more than a map lookup per request.
+ * <p>
+ * Behind proxies the client is the X-Forwarded-For entry added by the outermost trusted proxy,
+ * counted from the right; everything to its left was written by the client and is ignored.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum RouteClass {
+        PUBLIC_READ,
+        LOGIN,
+        ADMIN_WRITE
+    }
+
+    private static final String OVERFLOW_CLIENT = "*";
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int trustedProxyHops;
+    private final int maxClients;
+    private final Map<RouteClass, Limit> limits = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> admitted = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> rejected = new EnumMap<>(RouteClass.class);
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${blog.rate-limit.enabled:true}") boolean enabled,
+            @Value("${blog.rate-limit.trusted-proxy-hops:0}") int trustedProxyHops,
+            @Value("${blog.rate-limit.max-clients:100000}") int maxClients,
+            @Value("${blog.rate-limit.public-read.per-minute:300}") int publicReadPerMinute,
+            @Value("${blog.rate-limit.public-read.burst:60}") int publicReadBurst,
+            @Value("${blog.rate-limit.login.per-minute:10}") int loginPerMinute,
+            @Value("${blog.rate-limit.login.burst:5}") int loginBurst,
+            @Value("${blog.rate-limit.admin-write.per-minute:60}") int adminWritePerMinute,
+            @Value("${blog.rate-limit.admin-write.burst:20}") int adminWriteBurst
+    ) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.trustedProxyHops = trustedProxyHops;
+        this.maxClients = maxClients;
+        limits.put(RouteClass.PUBLIC_READ, new Limit(publicReadPerMinute, publicReadBurst));
+        limits.put(RouteClass.LOGIN, new Limit(loginPerMinute, loginBurst));
+        limits.put(RouteClass.ADMIN_WRITE, new Limit(adminWritePerMinute, adminWriteBurst));
+
+        for (RouteClass routeClass : RouteClass.values()) {
+            String route = routeClass.name().toLowerCase();
+            admitted.put(routeClass, Counter.builder("blog.ratelimit.requests")
+                    .tag("route", route).tag("outcome", "admitted").register(meterRegistry));
+            rejected.put(routeClass, Counter.builder("blog.ratelimit.requests")
+                    .tag("route", route).tag("outcome", "rejected").register(meterRegistry));
+        }
+        Gauge.builder("blog.ratelimit.clients", buckets, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RouteClass routeClass = enabled ? classify(request) : null;
+        if (routeClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = acquire(routeClass, clientIp(request));
+        if (waitNanos == 0) {
+            admitted.get(routeClass).increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejected.get(routeClass).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Rate limit exceeded, retry after " + retryAfterSeconds + "s",
+                request.getRequestURI()
+        );
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * @return 0 if the request is admitted, otherwise nanoseconds until it would be
+     */
+    long acquire(RouteClass routeClass, String client) {
+        Limit limit = limits.get(routeClass);
+        AtomicLong bucket = bucketFor(routeClass, client);
+        long now = System.nanoTime();
+        while (true) {
+            long tat = bucket.get();
+            long base = Math.max(tat, now);
+            long allowAt = base - limit.toleranceNanos;
+            if (allowAt > now) {
+                return allowAt - now;
+            }
+            if (bucket.compareAndSet(tat, base + limit.intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        log.debug("Rate limit sweep evicted {} idle buckets", before - buckets.size());
+    }
+
+    private AtomicLong bucketFor(RouteClass routeClass, String client) {
+        String key = routeClass.ordinal() + ":" + client;
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            // Table full: newcomers share one bucket per route class until the sweep frees room
+            key = routeClass.ordinal() + ":" + OVERFLOW_CLIENT;
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+    }
+
+    private RouteClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("OPTIONS".equals(method) || path.startsWith("/actuator")) {
+            return null;
+        }
+        if ("GET".equals(method) || "HEAD".equals(method) || path.equals("/api/posts/batch")) {
+            return RouteClass.PUBLIC_READ;
+        }
+        if (path.equals("/api/auth/login")) {
+            return RouteClass.LOGIN;
+        }
+        return RouteClass.ADMIN_WRITE;
+    }
+
+    /**
+     * Each trusted proxy appends the address it received the request from, so with N of them
+     * the client is the N-th entry from the right. A shorter header did not pass through all of
+     * them, and the connection's address is used instead.
+     */
+    private String clientIp(HttpServletRequest request) {
+        if (trustedProxyHops > 0) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                String[] entries = forwarded.split(",");
+                if (entries.length >= trustedProxyHops) {
+                    String client = entries[entries.length - trustedProxyHops].trim();
+                    if (!client.isEmpty()) {
+                        return client;
+                    }
+                }
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static final class Limit {
+        private final long intervalNanos;
+        private final long toleranceNanos;
+
+        private Limit(int perMinute, int burst) {
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+            this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        }
+    }
+}
@@ -3,19 +3,26 @@ package com.novatech.blog.service;
 import com.novatech.blog.dto.AuthResponse;
 import com.novatech.blog.dto.LoginRequest;
 import com.novatech.blog.entity.User;
+import com.novatech.blog.repository.UserRepository;
 import com.novatech.blog.security.JwtUtil;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
     
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
     
     public AuthResponse login(LoginRequest request) {
         Authentication authentication = authenticationManager.authenticate(
@@ -34,4 +41,20 @@ public class AuthService {
                 .role(user.getRole().name())
                 .build();
     }
+    
+    /**
+     * Revokes the token until it expires. Tokens issued before jti was added cannot be revoked.
+     */
+    public void logout(String token) {
+        Claims claims = jwtUtil.extractAllClaims(token);
+        String jti = claims.getId();
+        if (jti == null) {
+            return;
+        }
+        Long userId = userRepository.findByUsername(claims.getSubject())
+                .map(User::getId)
+                .orElse(0L);
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        tokenRevocationService.revoke(jti, expiresAt, userId);
+    }
 }
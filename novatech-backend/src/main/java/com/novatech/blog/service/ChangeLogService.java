@@ -0,0 +1,69 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.entity.ChangeLogEntry;
+import com.novatech.blog.event.CacheInvalidationEvent.EntityType;
+import com.novatech.blog.event.PostChangedEvent;
+import com.novatech.blog.repository.ChangeLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Write side of the cross-instance invalidation bus: appends to change_log in the caller's
+ * transaction, so an entry becomes visible to {@link ChangeLogTailer} exactly when the change
+ * commits. Entries only need to outlive the longest poll gap and are purged after a day.
+ */
+@Service
+@Slf4j
+public class ChangeLogService {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final Duration retention;
+
+    public ChangeLogService(
+            ChangeLogRepository changeLogRepository,
+            @Value("${blog.change-log.retention-hours:24}") long retentionHours
+    ) {
+        this.changeLogRepository = changeLogRepository;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(EntityType entityType, Long entityId, String key, boolean deleted) {
+        changeLogRepository.save(ChangeLogEntry.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .entityKey(key)
+                .deleted(deleted)
+                .build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendPosts(List<PostChangedEvent> events) {
+        changeLogRepository.saveAll(events.stream()
+                .map(event -> ChangeLogEntry.builder()
+                        .entityType(EntityType.POST)
+                        .entityId(event.getPostId())
+                        .entityKey(event.getSlug())
+                        .deleted(event.getType() == PostChangedEvent.Type.DELETED)
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    @Scheduled(cron = "${blog.change-log.purge-cron:0 15 * * * *}")
+    @Transactional
+    public void purge() {
+        int purged = changeLogRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} change log entries older than {}", purged, retention);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.dto.PostResponse;
+import com.novatech.blog.entity.ChangeLogEntry;
+import com.novatech.blog.event.CacheInvalidationEvent;
+import com.novatech.blog.event.CacheInvalidationEvent.EntityType;
+import com.novatech.blog.repository.ChangeLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read side of the invalidation bus. Every instance polls change_log past its own cursor and
+ * publishes a {@link CacheInvalidationEvent} per changed entity, so in-process caches on all
+ * instances converge within one poll interval without an external broker. Post entries are
+ * re-read from the database, so listeners always get the latest state whatever the order.
+ * <p>
+ * Identity values are allocated at insert, not at commit, so a slow transaction can commit an
+ * id below the cursor. Skipped ids are remembered as gaps and re-checked on each poll until
+ * they show up or the gap timeout passes (rolled back transactions never fill theirs).
+ */
+@Service
+@Slf4j
+public class ChangeLogTailer {
+
+    private static final int MAX_GAP = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final PostService postService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final Counter applied;
+
+    // Guarded by this
+    private long cursor = -1;
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+    public ChangeLogTailer(
+            ChangeLogRepository changeLogRepository,
+            PostService postService,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${blog.change-log.batch-size:500}") int batchSize,
+            @Value("${blog.change-log.gap-timeout-ms:60000}") long gapTimeoutMillis
+    ) {
+        this.changeLogRepository = changeLogRepository;
+        this.postService = postService;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = gapTimeoutMillis * 1_000_000L;
+        this.applied = Counter.builder("blog.changelog.applied").register(meterRegistry);
+    }
+
+    /**
+     * Local caches are built from the database at startup, so only later entries matter.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        cursor = changeLogRepository.findMaxId();
+        log.info("Tailing change log from id {}", cursor);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.change-log.poll-interval-ms:500}")
+    public synchronized void poll() {
+        if (cursor < 0) {
+            return;
+        }
+        try {
+            List<ChangeLogEntry> entries = new ArrayList<>(recheckGaps());
+            List<ChangeLogEntry> fresh;
+            do {
+                fresh = changeLogRepository.findAfter(cursor, PageRequest.of(0, batchSize));
+                long now = System.nanoTime();
+                for (ChangeLogEntry entry : fresh) {
+                    if (entry.getId() - cursor - 1 <= MAX_GAP) {
+                        for (long missing = cursor + 1; missing < entry.getId(); missing++) {
+                            gaps.put(missing, now);
+                        }
+                    }
+                    cursor = entry.getId();
+                }
+                entries.addAll(fresh);
+            } while (fresh.size() == batchSize);
+
+            if (!entries.isEmpty()) {
+                publish(entries);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Change log poll failed, will retry: {}", ex.getMessage());
+        }
+    }
+
+    private List<ChangeLogEntry> recheckGaps() {
+        if (gaps.isEmpty()) {
+            return List.of();
+        }
+        List<ChangeLogEntry> found = changeLogRepository.findAllById(gaps.keySet());
+        found.forEach(entry -> gaps.remove(entry.getId()));
+        long now = System.nanoTime();
+        for (Iterator<Long> it = gaps.values().iterator(); it.hasNext(); ) {
+            if (now - it.next() > gapTimeoutNanos) {
+                it.remove();
+            }
+        }
+        return found;
+    }
+
+    private void publish(List<ChangeLogEntry> entries) {
+        // Collapse repeated changes to the same post and reload them in one query
+        Map<Long, ChangeLogEntry> posts = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : entries) {
+            if (entry.getEntityType() == EntityType.POST) {
+                posts.put(entry.getEntityId(), entry);
+            } else {
+                dispatch(new CacheInvalidationEvent(
+                        entry.getEntityType(), entry.getEntityId(), entry.getEntityKey(), entry.getDeleted(), null));
+            }
+        }
+        Map<Long, PostResponse> current = postService.getPostsByIds(posts.keySet()).stream()
+                .collect(Collectors.toMap(PostResponse::getId, Function.identity()));
+        posts.forEach((id, entry) -> {
+            PostResponse post = current.get(id);
+            dispatch(new CacheInvalidationEvent(
+                    EntityType.POST, id, post != null ? post.getSlug() : entry.getEntityKey(), post == null, post));
+        });
+    }
+
+    private void dispatch(CacheInvalidationEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+            applied.increment();
+        } catch (RuntimeException ex) {
+            // One broken listener must not hold back invalidation for everything behind it
+            log.warn("Failed to apply change to {} {}: {}", event.getEntityType(), event.getEntityId(), ex.getMessage());
+        }
+    }
+}
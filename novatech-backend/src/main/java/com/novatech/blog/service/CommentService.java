@@ -0,0 +1,265 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.dto.CommentPageResponse;
+import com.novatech.blog.dto.CommentRequest;
+import com.novatech.blog.dto.CommentResponse;
+import com.novatech.blog.entity.Comment;
+import com.novatech.blog.entity.PostCommentCount;
+import com.novatech.blog.event.PostChangedEvent;
+import com.novatech.blog.exception.ServiceUnavailableException;
+import com.novatech.blog.repository.CommentRepository;
+import com.novatech.blog.repository.PostCommentCountRepository;
+import com.novatech.blog.repository.PostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Comments are accepted into a bounded in-memory queue and written by one background thread
+ * in batched inserts, so a burst of submissions costs one round trip per batch rather than
+ * one transaction each. When the queue is full new submissions get a 503 with Retry-After.
+ * <p>
+ * Per-post counts live in post_comment_counts and are bumped once per post per batch,
+ * so commenting never takes a lock on the posts row. Comments still in the queue are
+ * written on graceful shutdown; a crash loses what has not been flushed yet.
+ */
+@Service
+@Slf4j
+public class CommentService {
+
+    // Inserting through a SELECT drops comments whose post was deleted while they were queued
+    private static final String INSERT_SQL =
+            "INSERT INTO comments (post_id, author_name, content, created_at) SELECT id, ?, ?, ? FROM posts WHERE id = ?";
+    private static final String UPDATE_COUNT_SQL =
+            "UPDATE post_comment_counts SET comment_count = comment_count + ? WHERE post_id = ?";
+    private static final String INSERT_COUNT_SQL =
+            "INSERT INTO post_comment_counts (post_id, comment_count) VALUES (?, ?)";
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final CommentRepository commentRepository;
+    private final PostCommentCountRepository postCommentCountRepository;
+    private final PostRepository postRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int maxPageSize;
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter dropped;
+
+    private final BlockingQueue<Comment> queue;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "comment-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean running = true;
+
+    public CommentService(
+            CommentRepository commentRepository,
+            PostCommentCountRepository postCommentCountRepository,
+            PostRepository postRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${blog.comments.queue-capacity:10000}") int queueCapacity,
+            @Value("${blog.comments.batch-size:200}") int batchSize,
+            @Value("${blog.comments.flush-interval-ms:200}") long flushIntervalMillis,
+            @Value("${blog.comments.max-page-size:100}") int maxPageSize
+    ) {
+        this.commentRepository = commentRepository;
+        this.postCommentCountRepository = postCommentCountRepository;
+        this.postRepository = postRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxPageSize = maxPageSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.accepted = Counter.builder("blog.comments.submissions").tag("outcome", "accepted").register(meterRegistry);
+        this.rejected = Counter.builder("blog.comments.submissions").tag("outcome", "rejected").register(meterRegistry);
+        this.dropped = Counter.builder("blog.comments.submissions").tag("outcome", "dropped").register(meterRegistry);
+        Gauge.builder("blog.comments.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.execute(this::writeLoop);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.shutdown();
+        if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Comment writer did not drain in time, {} comments lost", queue.size());
+        }
+    }
+
+    public CommentResponse submit(String slug, CommentRequest request) {
+        Long postId = postRepository.findIdBySlug(slug)
+                .orElseThrow(() -> new RuntimeException("Post not found with slug: " + slug));
+        Comment comment = Comment.builder()
+                .postId(postId)
+                .authorName(request.getAuthorName().trim())
+                .content(request.getContent())
+                .createdAt(LocalDateTime.now())
+                .build();
+        if (!running || !queue.offer(comment)) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many comments are waiting to be saved, please retry", 1);
+        }
+        accepted.increment();
+        return toResponse(comment);
+    }
+
+    public CommentPageResponse getComments(String slug, Long afterId, int limit) {
+        Long postId = postRepository.findIdBySlug(slug)
+                .orElseThrow(() -> new RuntimeException("Post not found with slug: " + slug));
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        List<Comment> page = commentRepository.findPage(
+                postId, afterId != null ? afterId : 0L, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = page.size() > pageSize;
+        if (hasMore) {
+            page = page.subList(0, pageSize);
+        }
+        long total = postCommentCountRepository.findById(postId)
+                .map(PostCommentCount::getCommentCount)
+                .orElse(0L);
+        return CommentPageResponse.builder()
+                .comments(page.stream().map(this::toResponse).collect(Collectors.toList()))
+                .nextCursor(hasMore ? page.get(page.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .total(total)
+                .build();
+    }
+
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.DELETED) {
+            jdbcTemplate.update("DELETE FROM comments WHERE post_id = ?", event.getPostId());
+            jdbcTemplate.update("DELETE FROM post_comment_counts WHERE post_id = ?", event.getPostId());
+        }
+    }
+
+    private void writeLoop() {
+        List<Comment> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Comment first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Comment> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(batch));
+                log.debug("Wrote {} comments", batch.size());
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Failed to write {} comments (attempt {}): {}", batch.size(), attempt, ex.getMessage());
+                TimeUnit.MILLISECONDS.sleep(500L * attempt);
+            }
+        }
+        writeOneByOne(batch);
+    }
+
+    /**
+     * Last resort for a batch that keeps failing: one bad row must not take the others down
+     * with it, since every comment in the batch was already acknowledged with 202.
+     */
+    private void writeOneByOne(List<Comment> batch) {
+        int failed = 0;
+        for (Comment comment : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(List.of(comment)));
+            } catch (RuntimeException ex) {
+                failed++;
+                log.error("Dropped comment by '{}' on post {} created at {}: {}",
+                        comment.getAuthorName(), comment.getPostId(), comment.getCreatedAt(), ex.getMessage());
+            }
+        }
+        dropped.increment(failed);
+        log.warn("Wrote a failing batch of {} comments row by row, {} dropped", batch.size(), failed);
+    }
+
+    private void insert(List<Comment> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Comment comment : batch) {
+            rows.add(new Object[]{
+                    comment.getAuthorName(), comment.getContent(),
+                    Timestamp.valueOf(comment.getCreatedAt()), comment.getPostId()});
+        }
+        int[] inserted = jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+        // Drivers that rewrite batches report SUCCESS_NO_INFO (-2), which still means a row was written
+        Map<Long, Long> added = new LinkedHashMap<>();
+        for (int i = 0; i < inserted.length; i++) {
+            if (inserted[i] != 0) {
+                added.merge(batch.get(i).getPostId(), 1L, Long::sum);
+            }
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+        List<Object[]> deltas = added.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .collect(Collectors.toList());
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_COUNT_SQL, deltas);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Object[] row = deltas.get(i);
+                missing.add(new Object[]{row[1], row[0]});
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_COUNT_SQL, missing);
+        }
+    }
+
+    private CommentResponse toResponse(Comment comment) {
+        return CommentResponse.builder()
+                .id(comment.getId())
+                .postId(comment.getPostId())
+                .authorName(comment.getAuthorName())
+                .content(comment.getContent())
+                .createdAt(comment.getCreatedAt())
+                .build();
+    }
+}
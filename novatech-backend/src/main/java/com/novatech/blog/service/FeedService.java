@@ -0,0 +1,286 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.dto.PostSummaryResponse;
+import com.novatech.blog.event.CacheInvalidationEvent;
+import com.novatech.blog.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders RSS, Atom and sitemap documents with a streaming XML writer from lightweight
+ * summary queries, and caches the rendered bytes until the next post write.
+ * Sitemaps are read in id-ordered batches and split into a sitemap index once the corpus
+ * exceeds the per-file URL limit, so memory use stays flat as the corpus grows.
+ */
+@Service
+@Slf4j
+public class FeedService {
+
+    private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    private static final int SITEMAP_BATCH = 1000;
+
+    private final PostService postService;
+    private final PostRepository postRepository;
+    private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newFactory();
+
+    private final String siteUrl;
+    private final String postUrl;
+    private final String siteTitle;
+    private final int feedSize;
+    private final int sitemapMaxUrls;
+
+    private final Map<String, XmlDocument> cache = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public FeedService(
+            PostService postService,
+            PostRepository postRepository,
+            @Value("${blog.site.url:http://localhost:5173}") String siteUrl,
+            @Value("${blog.site.post-url:http://localhost:5173/#/post/}") String postUrl,
+            @Value("${blog.site.title:NovaTech Blog}") String siteTitle,
+            @Value("${blog.feed.size:20}") int feedSize,
+            @Value("${blog.feed.sitemap-max-urls:50000}") int sitemapMaxUrls
+    ) {
+        this.postService = postService;
+        this.postRepository = postRepository;
+        this.siteUrl = siteUrl;
+        this.postUrl = postUrl;
+        this.siteTitle = siteTitle;
+        this.feedSize = feedSize;
+        this.sitemapMaxUrls = sitemapMaxUrls;
+    }
+
+    public XmlDocument getRssFeed() {
+        return cached("rss", () -> render(xml -> {
+            xml.writeStartElement("rss");
+            xml.writeAttribute("version", "2.0");
+            xml.writeStartElement("channel");
+            element(xml, "title", siteTitle);
+            element(xml, "link", siteUrl);
+            element(xml, "description", siteTitle);
+            for (PostSummaryResponse post : postService.getRecentPostSummaries(feedSize)) {
+                xml.writeStartElement("item");
+                element(xml, "title", post.getTitle());
+                element(xml, "link", postUrl + post.getSlug());
+                xml.writeStartElement("guid");
+                xml.writeAttribute("isPermaLink", "false");
+                xml.writeCharacters("post-" + post.getId());
+                xml.writeEndElement();
+                element(xml, "pubDate", DateTimeFormatter.RFC_1123_DATE_TIME.format(zoned(post.getCreatedAt())));
+                element(xml, "description", post.getExcerpt());
+                element(xml, "category", post.getCategory());
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+            xml.writeEndElement();
+        }));
+    }
+
+    public XmlDocument getAtomFeed() {
+        return cached("atom", () -> render(xml -> {
+            List<PostSummaryResponse> posts = postService.getRecentPostSummaries(feedSize);
+            xml.writeStartElement("feed");
+            xml.writeDefaultNamespace(ATOM_NS);
+            element(xml, "title", siteTitle);
+            element(xml, "id", siteUrl + "/");
+            xml.writeEmptyElement("link");
+            xml.writeAttribute("href", siteUrl);
+            element(xml, "updated", isoDate(posts.isEmpty() ? LocalDateTime.now() : lastModified(posts.get(0))));
+            for (PostSummaryResponse post : posts) {
+                xml.writeStartElement("entry");
+                element(xml, "title", post.getTitle());
+                element(xml, "id", postUrl + post.getSlug());
+                xml.writeEmptyElement("link");
+                xml.writeAttribute("href", postUrl + post.getSlug());
+                element(xml, "published", isoDate(post.getCreatedAt()));
+                element(xml, "updated", isoDate(lastModified(post)));
+                element(xml, "summary", post.getExcerpt());
+                if (post.getCategory() != null) {
+                    xml.writeEmptyElement("category");
+                    xml.writeAttribute("term", post.getCategory());
+                }
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        }));
+    }
+
+    /**
+     * A single urlset while the corpus fits in one file, otherwise a sitemap index
+     * pointing at sitemap-{n}.xml under the site URL. The request's Host plays no part,
+     * since the document is cached for every caller.
+     */
+    public XmlDocument getSitemap() {
+        return cached("sitemap", () -> {
+            long total = postRepository.count();
+            if (total <= sitemapMaxUrls) {
+                return renderUrlSet(0L);
+            }
+            long chunks = (total + sitemapMaxUrls - 1) / sitemapMaxUrls;
+            return render(xml -> {
+                xml.writeStartElement("sitemapindex");
+                xml.writeDefaultNamespace(SITEMAP_NS);
+                for (int i = 1; i <= chunks; i++) {
+                    xml.writeStartElement("sitemap");
+                    element(xml, "loc", siteUrl + "/sitemap-" + i + ".xml");
+                    xml.writeEndElement();
+                }
+                xml.writeEndElement();
+            });
+        });
+    }
+
+    public XmlDocument getSitemapChunk(int index) {
+        return cached("sitemap-" + index, () -> {
+            if (index < 1) {
+                throw new RuntimeException("Sitemap not found: " + index);
+            }
+            long afterId = 0L;
+            if (index > 1) {
+                List<Long> ids = postRepository.findIdsOrderById(
+                        PageRequest.of((index - 1) * sitemapMaxUrls - 1, 1));
+                if (ids.isEmpty()) {
+                    throw new RuntimeException("Sitemap not found: " + index);
+                }
+                afterId = ids.get(0);
+            }
+            return renderUrlSet(afterId);
+        });
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (event.isPost()) {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private XmlDocument renderUrlSet(long startAfterId) {
+        return render(xml -> {
+            xml.writeStartElement("urlset");
+            xml.writeDefaultNamespace(SITEMAP_NS);
+            long afterId = startAfterId;
+            int written = 0;
+            while (written < sitemapMaxUrls) {
+                List<Object[]> batch = postRepository.findSitemapEntriesAfter(
+                        afterId, PageRequest.of(0, Math.min(SITEMAP_BATCH, sitemapMaxUrls - written)));
+                for (Object[] row : batch) {
+                    xml.writeStartElement("url");
+                    element(xml, "loc", postUrl + row[1]);
+                    if (row[2] != null) {
+                        element(xml, "lastmod", isoDate((LocalDateTime) row[2]));
+                    }
+                    xml.writeEndElement();
+                    afterId = (Long) row[0];
+                    written++;
+                }
+                if (batch.size() < SITEMAP_BATCH) {
+                    break;
+                }
+            }
+            xml.writeEndElement();
+        });
+    }
+
+    private XmlDocument cached(String key, DocumentRenderer renderer) {
+        XmlDocument document = cache.get(key);
+        if (document != null) {
+            return document;
+        }
+        long before = generation.get();
+        long start = System.nanoTime();
+        document = renderer.render();
+        cache.put(key, document);
+        if (generation.get() != before) {
+            // A write landed while rendering, don't keep a possibly stale document
+            cache.remove(key, document);
+        }
+        log.debug("Rendered {} ({} bytes) in {} µs", key, document.bytes().length, (System.nanoTime() - start) / 1000);
+        return document;
+    }
+
+    private XmlDocument render(XmlBody body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        try {
+            XMLStreamWriter xml = xmlOutputFactory.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            body.write(xml);
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException ex) {
+            throw new IllegalStateException("Failed to render XML document", ex);
+        }
+        byte[] bytes = out.toByteArray();
+        return new XmlDocument(bytes, etag(bytes), Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        if (text != null) {
+            xml.writeCharacters(text);
+        }
+        xml.writeEndElement();
+    }
+
+    private static LocalDateTime lastModified(PostSummaryResponse post) {
+        return post.getUpdatedAt() != null ? post.getUpdatedAt() : post.getCreatedAt();
+    }
+
+    private static ZonedDateTime zoned(LocalDateTime time) {
+        return (time != null ? time : LocalDateTime.now()).atZone(ZoneId.systemDefault());
+    }
+
+    private static String isoDate(LocalDateTime time) {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(zoned(time).truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private static String etag(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public record XmlDocument(byte[] bytes, String etag, Instant lastModified) {
+    }
+
+    @FunctionalInterface
+    private interface XmlBody {
+        void write(XMLStreamWriter xml) throws XMLStreamException;
+    }
+
+    @FunctionalInterface
+    private interface DocumentRenderer {
+        XmlDocument render();
+    }
+}
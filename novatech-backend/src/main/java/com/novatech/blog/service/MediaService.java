@@ -0,0 +1,401 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.dto.MediaResponse;
+import com.novatech.blog.entity.MediaAsset;
+import com.novatech.blog.repository.MediaAssetRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed media storage. Uploads are hashed while they are streamed to disk and
+ * stored once under {@code {dir}/ab/cd/{sha256}.{ext}}, so identical uploads collapse onto
+ * the same file and row. Resized variants ({@code {sha256}-{width}.{ext}}) are rendered on a
+ * small bounded pool; when the pool is saturated the work is dropped and redone the first
+ * time the missing variant is requested.
+ * <p>
+ * Decoding needs memory for every pixel whatever the file size, so images above
+ * {@code max-pixels} are rejected from their header before anything decodes them, and images
+ * whose dimensions cannot be read get no variants.
+ */
+@Service
+@Slf4j
+public class MediaService {
+
+    public static final String URL_PREFIX = "/media/";
+
+    private static final Pattern FILE_NAME = Pattern.compile("([0-9a-f]{64})(?:-(\\d+))?\\.([a-z]+)");
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "webp", "image/webp");
+
+    private final MediaAssetRepository mediaAssetRepository;
+    private final Path root;
+    private final Path uploadDir;
+    private final int[] variantWidths;
+    private final long maxPixels;
+    private final ThreadPoolExecutor resizer;
+
+    // Hashes with a variant job queued or running
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    public MediaService(
+            MediaAssetRepository mediaAssetRepository,
+            @Value("${blog.media.dir:./media}") String dir,
+            @Value("${blog.media.variant-widths:320,768,1280}") int[] variantWidths,
+            @Value("${blog.media.resize-threads:2}") int resizeThreads,
+            @Value("${blog.media.resize-queue:100}") int resizeQueue,
+            @Value("${blog.media.max-pixels:40000000}") long maxPixels
+    ) {
+        this.mediaAssetRepository = mediaAssetRepository;
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.uploadDir = root.resolve(".uploads");
+        this.variantWidths = Arrays.stream(variantWidths).sorted().distinct().toArray();
+        this.maxPixels = maxPixels;
+
+        AtomicInteger threadId = new AtomicInteger();
+        this.resizer = new ThreadPoolExecutor(resizeThreads, resizeThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(resizeQueue),
+                r -> {
+                    Thread thread = new Thread(r, "media-resize-" + threadId.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public MediaResponse upload(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Uploaded file is empty");
+        }
+        Path tmp = null;
+        try {
+            Files.createDirectories(uploadDir);
+            tmp = Files.createTempFile(uploadDir, "upload-", ".tmp");
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String extension = sniffExtension(tmp);
+
+            MediaAsset existing = mediaAssetRepository.findByHash(hash).orElse(null);
+            if (existing != null) {
+                return toResponse(existing, true);
+            }
+
+            // Read from the header only; a small file can still declare billions of pixels
+            int[] dimensions = readDimensions(tmp);
+            if (dimensions != null && (long) dimensions[0] * dimensions[1] > maxPixels) {
+                throw new IllegalArgumentException("Image is " + dimensions[0] + "x" + dimensions[1]
+                        + " pixels, at most " + maxPixels + " pixels are allowed");
+            }
+
+            Path target = originalFile(hash, extension);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                move(tmp, target);
+            }
+
+            MediaAsset asset;
+            try {
+                asset = mediaAssetRepository.save(MediaAsset.builder()
+                        .hash(hash)
+                        .contentType(CONTENT_TYPES.get(extension))
+                        .extension(extension)
+                        .size(Files.size(target))
+                        .width(dimensions != null ? dimensions[0] : null)
+                        .height(dimensions != null ? dimensions[1] : null)
+                        .originalFilename(file.getOriginalFilename())
+                        .build());
+            } catch (DataIntegrityViolationException ex) {
+                // The same content was uploaded concurrently and the other request won
+                return toResponse(mediaAssetRepository.findByHash(hash).orElseThrow(() -> ex), true);
+            }
+            scheduleVariants(asset);
+            return toResponse(asset, false);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to store upload", ex);
+        } finally {
+            deleteQuietly(tmp);
+        }
+    }
+
+    /**
+     * @return the file behind a /media/ name, or null if there is none on disk
+     */
+    public MediaFile find(String name) {
+        Matcher matcher = FILE_NAME.matcher(name);
+        if (!matcher.matches() || !CONTENT_TYPES.containsKey(matcher.group(3))) {
+            return null;
+        }
+        String hash = matcher.group(1);
+        String extension = matcher.group(3);
+        Path path = matcher.group(2) == null
+                ? originalFile(hash, extension)
+                : variantFile(hash, Integer.parseInt(matcher.group(2)), extension);
+        try {
+            long length = Files.size(path);
+            String etag = "\"" + name.substring(0, name.lastIndexOf('.')) + "\"";
+            return new MediaFile(path, CONTENT_TYPES.get(extension), length, etag);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * For a configured variant that is not on disk yet: queues it again and returns the
+     * URL of the original to serve in the meantime. Null if the name is not such a variant.
+     */
+    public String missingVariantFallback(String name) {
+        Matcher matcher = FILE_NAME.matcher(name);
+        if (!matcher.matches() || matcher.group(2) == null
+                || Arrays.binarySearch(variantWidths, Integer.parseInt(matcher.group(2))) < 0) {
+            return null;
+        }
+        return mediaAssetRepository.findByHash(matcher.group(1))
+                .filter(asset -> variantExtension(asset.getExtension()).equals(matcher.group(3)))
+                .map(asset -> {
+                    scheduleVariants(asset);
+                    return URL_PREFIX + asset.getHash() + "." + asset.getExtension();
+                })
+                .orElse(null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resizer.shutdownNow();
+    }
+
+    private void scheduleVariants(MediaAsset asset) {
+        int[] widths = widthsFor(asset);
+        if (widths.length == 0 || !queued.add(asset.getHash())) {
+            return;
+        }
+        try {
+            resizer.execute(() -> {
+                try {
+                    renderVariants(asset, widths);
+                } catch (Exception ex) {
+                    log.warn("Failed to render variants for {}: {}", asset.getHash(), ex.getMessage());
+                } finally {
+                    queued.remove(asset.getHash());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            queued.remove(asset.getHash());
+            log.debug("Resize queue full, variants for {} will be rendered on first request", asset.getHash());
+        }
+    }
+
+    private void renderVariants(MediaAsset asset, int[] widths) throws IOException {
+        String extension = variantExtension(asset.getExtension());
+        BufferedImage source = null;
+        for (int width : widths) {
+            Path target = variantFile(asset.getHash(), width, extension);
+            if (Files.exists(target)) {
+                continue;
+            }
+            if (source == null) {
+                source = ImageIO.read(originalFile(asset.getHash(), asset.getExtension()).toFile());
+                if (source == null) {
+                    return;
+                }
+            }
+            BufferedImage scaled = scale(source, width, "jpg".equals(extension));
+            Path tmp = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+            try {
+                if (!ImageIO.write(scaled, extension, tmp.toFile())) {
+                    throw new IOException("No ImageIO writer for " + extension);
+                }
+                move(tmp, target);
+            } finally {
+                deleteQuietly(tmp);
+            }
+        }
+        log.debug("Rendered {} variants for {}", widths.length, asset.getHash());
+    }
+
+    /**
+     * Halves the image until it is within 2x of the target and finishes with one bilinear
+     * pass, which avoids the aliasing of a single large bilinear step.
+     */
+    private static BufferedImage scale(BufferedImage source, int width, boolean opaque) {
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        int targetHeight = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = w == width ? targetHeight : Math.max(targetHeight, h / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, opaque ? Color.WHITE : null, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w > width);
+        return current;
+    }
+
+    private MediaResponse toResponse(MediaAsset asset, boolean deduplicated) {
+        String extension = variantExtension(asset.getExtension());
+        Map<Integer, String> variants = new LinkedHashMap<>();
+        for (int width : widthsFor(asset)) {
+            variants.put(width, URL_PREFIX + asset.getHash() + "-" + width + "." + extension);
+        }
+        return MediaResponse.builder()
+                .id(asset.getId())
+                .hash(asset.getHash())
+                .url(URL_PREFIX + asset.getHash() + "." + asset.getExtension())
+                .contentType(asset.getContentType())
+                .size(asset.getSize())
+                .width(asset.getWidth())
+                .height(asset.getHeight())
+                .variants(variants)
+                .deduplicated(deduplicated)
+                .createdAt(asset.getCreatedAt())
+                .build();
+    }
+
+    // Only downscale, and only formats ImageIO can decode
+    private int[] widthsFor(MediaAsset asset) {
+        // Unknown dimensions, or an asset stored before the pixel limit: never decode it
+        if (asset.getWidth() == null || asset.getHeight() == null || "webp".equals(asset.getExtension())
+                || (long) asset.getWidth() * asset.getHeight() > maxPixels) {
+            return new int[0];
+        }
+        return Arrays.stream(variantWidths).filter(width -> width < asset.getWidth()).toArray();
+    }
+
+    // Variants of GIFs are a still PNG of the first frame
+    private static String variantExtension(String extension) {
+        return "gif".equals(extension) ? "png" : extension;
+    }
+
+    private Path originalFile(String hash, String extension) {
+        return shard(hash).resolve(hash + "." + extension);
+    }
+
+    private Path variantFile(String hash, int width, String extension) {
+        return shard(hash).resolve(hash + "-" + width + "." + extension);
+    }
+
+    private Path shard(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4));
+    }
+
+    private static String sniffExtension(Path file) throws IOException {
+        byte[] head = new byte[12];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(head, 0, head.length);
+        }
+        if (read >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return "jpg";
+        }
+        if (read >= 8 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return "png";
+        }
+        if (read >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8') {
+            return "gif";
+        }
+        if (read >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "webp";
+        }
+        throw new IllegalArgumentException("Unsupported media type, expected JPEG, PNG, GIF or WebP");
+    }
+
+    // Reads width and height from the header without decoding the pixels
+    private static int[] readDimensions(Path file) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return new int[]{reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.debug("Could not delete {}: {}", path, ex.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public record MediaFile(Path path, String contentType, long length, String etag) {
+    }
+}
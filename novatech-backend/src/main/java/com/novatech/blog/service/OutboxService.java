@@ -0,0 +1,234 @@
+package com.novatech.blog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novatech.blog.entity.OutboxEvent;
+import com.novatech.blog.event.PostChangedEvent;
+import com.novatech.blog.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox for {@link PostChangedEvent}.
+ * <p>
+ * Writers record events in the same transaction as the post change, so an event exists if and
+ * only if the change committed. After commit a single dispatcher thread drains the table in id
+ * order, publishes each event to the in-process listeners and deletes it. A failed event is
+ * retried with exponential backoff and holds back later events for the same post, so listeners
+ * see each post's changes in order; other posts keep flowing. Events still pending after a
+ * crash are picked up by the periodic poll on the next start.
+ * <p>
+ * With several instances, each batch is claimed with a lease before it is dispatched, so an
+ * event is handled by one instance at a time. Only the oldest live event of each post can be
+ * claimed, which keeps per-post order across instances too. A lease left behind by a crashed
+ * instance expires after {@code lease-ms} and the event is claimed again.
+ * <p>
+ * Delivery is at-least-once, so listeners must be idempotent.
+ */
+@Service
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Counter dispatched;
+    private final Counter failed;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "outbox-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public OutboxService(
+            OutboxEventRepository outboxEventRepository,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${blog.outbox.batch-size:100}") int batchSize,
+            @Value("${blog.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${blog.outbox.base-backoff-ms:1000}") long baseBackoffMillis,
+            @Value("${blog.outbox.max-backoff-ms:300000}") long maxBackoffMillis,
+            @Value("${blog.outbox.lease-ms:60000}") long leaseMillis
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofMillis(baseBackoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.dispatched = Counter.builder("blog.outbox.events").tag("outcome", "dispatched").register(meterRegistry);
+        this.failed = Counter.builder("blog.outbox.events").tag("outcome", "failed").register(meterRegistry);
+    }
+
+    /**
+     * Must be called inside the writer's transaction; the dispatcher is woken after commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(PostChangedEvent event) {
+        recordAll(List.of(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<PostChangedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        outboxEventRepository.saveAll(events.stream()
+                .map(event -> OutboxEvent.builder()
+                        .postId(event.getPostId())
+                        .eventType(event.getType().name())
+                        .payload(serialize(event))
+                        .build())
+                .collect(Collectors.toList()));
+        wakeAfterCommit();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        wake();
+    }
+
+    // Safety net for retries and for wake-ups lost to a crash between commit and dispatch
+    @Scheduled(fixedDelayString = "${blog.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        wake();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void wake() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void wakeAfterCommit() {
+        // One wake-up per transaction, however many events it recorded
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OutboxService.this);
+                if (status == STATUS_COMMITTED) {
+                    wake();
+                }
+            }
+        });
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        try {
+            while (dispatchBatch()) {
+                // keep going while batches make progress
+            }
+        } catch (Exception ex) {
+            log.warn("Outbox dispatch failed, will retry: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * @return true if at least one event was dispatched
+     */
+    private boolean dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> candidates = outboxEventRepository.findDispatchableIds(now, PageRequest.of(0, batchSize));
+        if (candidates.isEmpty()) {
+            return false;
+        }
+        // Another instance may claim some of them first; it then dispatches those
+        String owner = UUID.randomUUID().toString();
+        outboxEventRepository.claim(candidates, owner, now, now.plus(lease));
+        List<OutboxEvent> batch = outboxEventRepository.findByLeaseOwnerOrderById(owner);
+        List<Long> done = new ArrayList<>();
+
+        // At most one event per post: a later one only becomes claimable once this one is gone
+        for (OutboxEvent event : batch) {
+            try {
+                eventPublisher.publishEvent(objectMapper.readValue(event.getPayload(), PostChangedEvent.class));
+                done.add(event.getId());
+                dispatched.increment();
+            } catch (Exception ex) {
+                failed.increment();
+                markFailed(event, ex, now);
+            }
+        }
+
+        if (!done.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(done);
+        }
+        return !done.isEmpty();
+    }
+
+    private void markFailed(OutboxEvent event, Exception ex, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLeaseOwner(null);
+        event.setLeaseUntil(null);
+        event.setLastError(truncate(ex.getClass().getSimpleName() + ": " + ex.getMessage()));
+        if (attempts >= maxAttempts) {
+            event.setDeadAt(now);
+            log.error("Outbox event {} for post {} failed {} times, giving up: {}",
+                    event.getId(), event.getPostId(), attempts, ex.getMessage());
+        } else {
+            long backoff = Math.min(maxBackoff.toMillis(), baseBackoff.toMillis() << Math.min(attempts - 1, 20));
+            event.setNextAttemptAt(now.plus(Duration.ofMillis(backoff)));
+            log.warn("Outbox event {} for post {} failed (attempt {}), retrying in {} ms: {}",
+                    event.getId(), event.getPostId(), attempts, backoff, ex.getMessage());
+        }
+        outboxEventRepository.save(event);
+    }
+
+    private String serialize(PostChangedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize " + event.getType() + " event", ex);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
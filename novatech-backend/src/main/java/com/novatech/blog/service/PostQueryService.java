@@ -0,0 +1,285 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.dto.PostBatchItem;
+import com.novatech.blog.dto.PostFields;
+import com.novatech.blog.dto.PostFilter;
+import com.novatech.blog.dto.PostResponse;
+import com.novatech.blog.entity.Post;
+import com.novatech.blog.event.CacheInvalidationEvent;
+import com.novatech.blog.readmodel.PostSnapshot;
+import com.novatech.blog.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.novatech.blog.repository.PostSpecifications.createdFrom;
+import static com.novatech.blog.repository.PostSpecifications.createdUntil;
+import static com.novatech.blog.repository.PostSpecifications.inCategory;
+import static com.novatech.blog.repository.PostSpecifications.keyword;
+import static com.novatech.blog.repository.PostSpecifications.taggedWith;
+
+/**
+ * Server-side filtering, sorting and paging for GET /api/posts.
+ * <p>
+ * Once the {@link PostReadModel} is built, pages are cut from its in-memory lists: a tag or
+ * category narrows to that list, which is already newest first, and the other filters are
+ * checked per post. Until then, filters become Specifications over indexed columns; the page
+ * is read as ids and then loaded with one fetch-join query. Counts only depend on the filter, so they are cached per filter
+ * until the next post change or the TTL, instead of being recounted for every page.
+ * Requests that could only be answered by scanning the whole table are rejected up front.
+ */
+@Service
+@Slf4j
+public class PostQueryService {
+
+    private static final Set<String> SORTABLE = Set.of("createdAt", "updatedAt");
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final PostReadModel readModel;
+    private final int maxPageSize;
+    private final long maxOffset;
+    private final long maxKeywordRangeDays;
+    private final int minKeywordLength;
+    private final long countTtlNanos;
+    private final int countCacheSize;
+    private final int maxBatchSize;
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public PostQueryService(
+            PostRepository postRepository,
+            PostService postService,
+            PostReadModel readModel,
+            @Value("${blog.posts.query.max-page-size:100}") int maxPageSize,
+            @Value("${blog.posts.query.max-offset:10000}") long maxOffset,
+            @Value("${blog.posts.query.max-keyword-range-days:366}") long maxKeywordRangeDays,
+            @Value("${blog.posts.query.min-keyword-length:3}") int minKeywordLength,
+            @Value("${blog.posts.query.count-ttl-ms:60000}") long countTtlMillis,
+            @Value("${blog.posts.query.count-cache-size:1000}") int countCacheSize,
+            @Value("${blog.posts.query.max-batch-size:100}") int maxBatchSize
+    ) {
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.readModel = readModel;
+        this.maxPageSize = maxPageSize;
+        this.maxOffset = maxOffset;
+        this.maxKeywordRangeDays = maxKeywordRangeDays;
+        this.minKeywordLength = minKeywordLength;
+        this.countTtlNanos = countTtlMillis * 1_000_000L;
+        this.countCacheSize = countCacheSize;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public PostPage<PostResponse> search(PostFilter filter) {
+        return search(filter, Function.identity(), ids -> {
+            Map<Long, PostResponse> byId = postService.getPostsByIds(ids).stream()
+                    .collect(Collectors.toMap(PostResponse::getId, Function.identity()));
+            return ids.stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * Same page as {@link #search(PostFilter)}, reading and returning only the requested attributes.
+     */
+    public PostPage<Map<String, Object>> search(PostFilter filter, PostFields fields) {
+        return search(filter, fields::project, ids -> postService.getPostFieldsByIds(ids, fields));
+    }
+
+    /**
+     * Multi-get by slug. Answers every requested slug in request order, with {@code found=false}
+     * for unknown ones, after a single cache pass and at most one query.
+     */
+    public <T> List<PostBatchItem<T>> getBySlugs(List<String> slugs, Function<PostResponse, T> view) {
+        List<String> requested = slugs == null ? List.of() : slugs.stream()
+                .map(String::trim)
+                .filter(slug -> !slug.isEmpty())
+                .collect(Collectors.toList());
+        if (requested.isEmpty() || requested.size() > maxBatchSize) {
+            throw new IllegalArgumentException("slugs must list between 1 and " + maxBatchSize + " posts");
+        }
+        Map<String, PostResponse> found = postService.getPostsBySlugs(requested);
+        return requested.stream()
+                .map(slug -> {
+                    PostResponse post = found.get(slug);
+                    return PostBatchItem.<T>builder()
+                            .slug(slug)
+                            .found(post != null)
+                            .post(post != null ? view.apply(post) : null)
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (event.isPost()) {
+            counts.clear();
+        }
+    }
+
+    /**
+     * @param view   turns a post of the read model into a result
+     * @param loader loads the results for a page of ids from the database
+     */
+    private <T> PostPage<T> search(PostFilter filter, Function<PostResponse, T> view, Function<List<Long>, List<T>> loader) {
+        int page = filter.getPage() != null ? filter.getPage() : 0;
+        int size = filter.getSize() != null ? filter.getSize() : 20;
+        Sort sort = sortOf(filter);
+        guard(filter, page, size);
+
+        PostSnapshot snapshot = readModel.current();
+        if (snapshot != null) {
+            List<PostResponse> matches = filter(snapshot, filter);
+            int from = (int) Math.min((long) page * size, matches.size());
+            List<T> posts = matches.subList(from, Math.min(from + size, matches.size())).stream()
+                    .map(view)
+                    .collect(Collectors.toList());
+            return new PostPage<>(posts, matches.size(), page, size);
+        }
+
+        Specification<Post> specification = toSpecification(filter);
+        List<Long> ids = postRepository.findIds(specification, sort, (long) page * size, size);
+        return new PostPage<>(loader.apply(ids), count(filter, specification), page, size);
+    }
+
+    /**
+     * The read model's answer to the filter, in the same order the database query would give.
+     */
+    private static List<PostResponse> filter(PostSnapshot snapshot, PostFilter filter) {
+        List<PostResponse> candidates = filter.getTag() != null ? snapshot.taggedWith(filter.getTag())
+                : filter.getCategory() != null ? snapshot.inCategory(filter.getCategory())
+                : snapshot.newestFirst();
+        LocalDateTime from = filter.getFrom() != null ? filter.getFrom().atStartOfDay() : null;
+        LocalDateTime until = filter.getTo() != null ? filter.getTo().plusDays(1).atStartOfDay() : null;
+        String keyword = filter.getQ() != null ? filter.getQ().trim().toLowerCase(Locale.ROOT) : null;
+
+        List<PostResponse> matches = new ArrayList<>();
+        for (PostResponse post : candidates) {
+            if (filter.getCategory() != null && !filter.getCategory().equals(post.getCategory())) {
+                continue;
+            }
+            if (from != null && (post.getCreatedAt() == null || post.getCreatedAt().isBefore(from))) {
+                continue;
+            }
+            if (until != null && (post.getCreatedAt() == null || !post.getCreatedAt().isBefore(until))) {
+                continue;
+            }
+            if (keyword != null && !containsIgnoreCase(post.getTitle(), keyword) && !containsIgnoreCase(post.getExcerpt(), keyword)) {
+                continue;
+            }
+            matches.add(post);
+        }
+
+        boolean ascending = "asc".equalsIgnoreCase(filter.getDirection());
+        if ("updatedAt".equals(filter.getSort())) {
+            Comparator<PostResponse> byUpdated = Comparator
+                    .comparing(PostResponse::getUpdatedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+                    .thenComparing(PostResponse::getId);
+            matches.sort(ascending ? byUpdated : byUpdated.reversed());
+        } else if (ascending) {
+            Collections.reverse(matches);
+        }
+        return matches;
+    }
+
+    private static boolean containsIgnoreCase(String text, String lowerCaseKeyword) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(lowerCaseKeyword);
+    }
+
+    private long count(PostFilter filter, Specification<Post> specification) {
+        String key = filter.countKey();
+        long now = System.nanoTime();
+        CachedCount cached = counts.get(key);
+        if (cached != null && now - cached.loadedAt < countTtlNanos) {
+            return cached.value;
+        }
+        long value = postRepository.count(specification);
+        if (counts.size() >= countCacheSize) {
+            counts.clear();
+        }
+        counts.put(key, new CachedCount(value, now));
+        return value;
+    }
+
+    private void guard(PostFilter filter, int page, int size) {
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxPageSize + " and page must not be negative");
+        }
+        if ((long) page * size > maxOffset) {
+            throw new IllegalArgumentException("Paging deeper than " + maxOffset + " posts is not supported, narrow the filter instead");
+        }
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getFrom().isAfter(filter.getTo())) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (filter.getQ() == null) {
+            return;
+        }
+        if (filter.getQ().trim().length() < minKeywordLength) {
+            throw new IllegalArgumentException("Keyword must be at least " + minKeywordLength + " characters");
+        }
+        // A substring match cannot use an index, so it has to run inside a narrower indexed set
+        boolean boundedRange = filter.getFrom() != null && filter.getTo() != null
+                && ChronoUnit.DAYS.between(filter.getFrom(), filter.getTo()) <= maxKeywordRangeDays;
+        if (filter.getCategory() == null && filter.getTag() == null && !boundedRange) {
+            throw new IllegalArgumentException(
+                    "Keyword search needs a category, a tag or a date range of at most " + maxKeywordRangeDays + " days");
+        }
+    }
+
+    private static Specification<Post> toSpecification(PostFilter filter) {
+        Specification<Post> specification = Specification.where(null);
+        if (filter.getCategory() != null) {
+            specification = specification.and(inCategory(filter.getCategory()));
+        }
+        if (filter.getTag() != null) {
+            specification = specification.and(taggedWith(filter.getTag()));
+        }
+        if (filter.getFrom() != null) {
+            specification = specification.and(createdFrom(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            specification = specification.and(createdUntil(filter.getTo()));
+        }
+        if (filter.getQ() != null) {
+            specification = specification.and(keyword(filter.getQ().trim()));
+        }
+        return specification;
+    }
+
+    private static Sort sortOf(PostFilter filter) {
+        String property = filter.getSort() != null ? filter.getSort() : "createdAt";
+        if (!SORTABLE.contains(property)) {
+            throw new IllegalArgumentException("sort must be one of " + SORTABLE);
+        }
+        Sort.Direction direction = "asc".equalsIgnoreCase(filter.getDirection()) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        // id breaks ties so pages never overlap, matching the (column, id) indexes
+        return Sort.by(direction, property).and(Sort.by(direction, "id"));
+    }
+
+    private record CachedCount(long value, long loadedAt) {
+    }
+
+    public record PostPage<T>(List<T> posts, long total, int page, int size) {
+    }
+}
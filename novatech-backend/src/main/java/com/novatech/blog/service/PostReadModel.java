@@ -0,0 +1,227 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.dto.PostResponse;
+import com.novatech.blog.dto.ReadModelVerifyResponse;
+import com.novatech.blog.event.CacheInvalidationEvent;
+import com.novatech.blog.event.PostChangedEvent;
+import com.novatech.blog.readmodel.PostSnapshot;
+import com.novatech.blog.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Every post in memory as an immutable {@link PostSnapshot}, so public reads never reach JPA.
+ * <p>
+ * The database stays the source of truth. The snapshot is built from it at startup; after that
+ * the writer applies its own commits right away and every instance applies the change log.
+ * Each change produces a new snapshot that is published by swapping one reference, so readers
+ * never lock and always see a whole version. Until the first build, and with
+ * {@code blog.read-model.enabled=false}, {@link #current()} is null and reads take the database path.
+ * <p>
+ * A periodic check compares the snapshot with the database and rebuilds it if the same posts
+ * differ twice in a row; a single difference is usually a change that is still on its way.
+ */
+@Service
+@Slf4j
+public class PostReadModel {
+
+    private final PostRepository postRepository;
+    private final boolean enabled;
+
+    private final AtomicReference<PostSnapshot> snapshot = new AtomicReference<>();
+
+    // Guarded by this
+    private Set<String> suspects = Set.of();
+
+    public PostReadModel(
+            PostRepository postRepository,
+            @Value("${blog.read-model.enabled:true}") boolean enabled
+    ) {
+        this.postRepository = postRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * The latest snapshot, or null while reads have to go to the database.
+     */
+    public PostSnapshot current() {
+        return snapshot.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!enabled) {
+            return;
+        }
+        rebuild();
+        ReadModelVerifyResponse check = verify();
+        if (!check.isConsistent()) {
+            log.warn("Read model differs from the database right after the build: {} missing, {} stale, {} orphaned",
+                    check.getMissing().size(), check.getStale().size(), check.getOrphaned().size());
+        }
+    }
+
+    /**
+     * Replaces the snapshot with one loaded from the database. Changes committed meanwhile are
+     * applied on top once it is published.
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            throw new IllegalStateException("The read model is disabled");
+        }
+        long start = System.currentTimeMillis();
+        List<PostResponse> posts = postRepository.findAllWithCategoryAndTags().stream()
+                .map(PostService::toResponse)
+                .collect(Collectors.toList());
+        PostSnapshot previous = snapshot.get();
+        PostSnapshot built = PostSnapshot.of(posts, previous != null ? previous.version() + 1 : 1);
+        snapshot.set(built);
+        suspects = Set.of();
+        log.info("Read model built with {} posts in {} ms", built.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Applies the writer's own commit without waiting for the change log.
+     */
+    public void apply(List<PostChangedEvent> events) {
+        List<PostResponse> upserts = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (PostChangedEvent event : events) {
+            if (event.getType() == PostChangedEvent.Type.DELETED) {
+                deleted.add(event.getPostId());
+            } else {
+                upserts.add(event.getPost());
+            }
+        }
+        apply(upserts, deleted);
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (!event.isPost()) {
+            return;
+        }
+        if (event.isDeleted()) {
+            apply(List.of(), List.of(event.getEntityId()));
+        } else if (event.getPost() != null) {
+            apply(List.of(event.getPost()), List.of());
+        }
+    }
+
+    /**
+     * Compares every post's attributes and tags with the database. Content is not read; it cannot
+     * change without {@code updatedAt} changing too.
+     */
+    public ReadModelVerifyResponse verify() {
+        PostSnapshot checked = snapshot.get();
+        if (checked == null) {
+            throw new IllegalStateException("The read model is not built");
+        }
+        Map<Long, Set<String>> tagsByPost = new HashMap<>();
+        for (Object[] row : postRepository.findAllPostTagNames()) {
+            tagsByPost.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+        List<Object[]> rows = postRepository.findSummaries(Pageable.unpaged());
+
+        List<String> missing = new ArrayList<>();
+        List<String> stale = new ArrayList<>();
+        Set<Long> inDatabase = new HashSet<>();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            inDatabase.add(id);
+            PostResponse post = checked.byId(id);
+            if (post == null) {
+                missing.add((String) row[1]);
+            } else if (!matches(post, row, tagsByPost.getOrDefault(id, Set.of()))) {
+                stale.add(post.getSlug());
+            }
+        }
+        List<String> orphaned = checked.all().stream()
+                .filter(post -> !inDatabase.contains(post.getId()))
+                .map(PostResponse::getSlug)
+                .sorted()
+                .collect(Collectors.toList());
+
+        return ReadModelVerifyResponse.builder()
+                .version(checked.version())
+                .builtAt(checked.builtAt())
+                .postsInDatabase(rows.size())
+                .postsInModel(checked.size())
+                .missing(missing)
+                .stale(stale)
+                .orphaned(orphaned)
+                .consistent(missing.isEmpty() && stale.isEmpty() && orphaned.isEmpty())
+                .build();
+    }
+
+    @Scheduled(
+            initialDelayString = "${blog.read-model.verify-interval-ms:600000}",
+            fixedDelayString = "${blog.read-model.verify-interval-ms:600000}")
+    public void verifyPeriodically() {
+        if (snapshot.get() == null) {
+            return;
+        }
+        try {
+            ReadModelVerifyResponse check = verify();
+            Set<String> differing = new HashSet<>();
+            differing.addAll(check.getMissing());
+            differing.addAll(check.getStale());
+            differing.addAll(check.getOrphaned());
+            synchronized (this) {
+                Set<String> persistent = new HashSet<>(differing);
+                persistent.retainAll(suspects);
+                suspects = differing;
+                if (persistent.isEmpty()) {
+                    return;
+                }
+                log.warn("Read model still differs from the database for {}, rebuilding", persistent);
+                rebuild();
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Read model check failed, will retry: {}", ex.getMessage());
+        }
+    }
+
+    private synchronized void apply(Collection<PostResponse> upserts, Collection<Long> deletedIds) {
+        PostSnapshot current = snapshot.get();
+        if (current == null) {
+            // Not built yet; the build reads this change from the database
+            return;
+        }
+        snapshot.set(current.apply(upserts, deletedIds));
+    }
+
+    private static boolean matches(PostResponse post, Object[] row, Set<String> tags) {
+        return Objects.equals(post.getSlug(), row[1])
+                && Objects.equals(post.getTitle(), row[2])
+                && Objects.equals(post.getExcerpt(), row[3])
+                && Objects.equals(post.getCategory(), row[4])
+                && Objects.equals(post.getReadTime(), row[5])
+                && sameSecond(post.getCreatedAt(), (LocalDateTime) row[6])
+                && sameSecond(post.getUpdatedAt(), (LocalDateTime) row[7])
+                && new HashSet<>(post.getTags()).equals(tags);
+    }
+
+    // The writer's copy carries the JVM clock's precision, the database may store less
+    private static boolean sameSecond(LocalDateTime a, LocalDateTime b) {
+        return a == null || b == null ? a == b : a.truncatedTo(ChronoUnit.SECONDS).equals(b.truncatedTo(ChronoUnit.SECONDS));
+    }
+}
@@ -1,19 +1,46 @@
 package com.novatech.blog.service;
 
+import com.novatech.blog.cache.StaleWhileRevalidateCache;
+import com.novatech.blog.dto.BulkOperationResponse;
+import com.novatech.blog.dto.BulkPostRequest;
+import com.novatech.blog.dto.PostFields;
 import com.novatech.blog.dto.PostRequest;
 import com.novatech.blog.dto.PostResponse;
+import com.novatech.blog.dto.PostRevisionResponse;
+import com.novatech.blog.dto.PostSummaryResponse;
 import com.novatech.blog.entity.Post;
 import com.novatech.blog.entity.Category;
+import com.novatech.blog.entity.PostTombstone;
 import com.novatech.blog.entity.Tag;
+import com.novatech.blog.event.CacheInvalidationEvent;
+import com.novatech.blog.event.PostChangedEvent;
+import com.novatech.blog.jfr.SlugAllocationEvent;
+import com.novatech.blog.readmodel.PostSnapshot;
 import com.novatech.blog.repository.PostRepository;
 import com.novatech.blog.repository.CategoryRepository;
+import com.novatech.blog.repository.PostTombstoneRepository;
 import com.novatech.blog.repository.TagRepository;
+import com.novatech.blog.timing.ServerTiming;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -24,45 +51,182 @@ public class PostService {
     private final PostRepository postRepository;
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
+    private final PostTombstoneRepository postTombstoneRepository;
+    private final OutboxService outboxService;
+    private final ChangeLogService changeLogService;
+    private final RevisionService revisionService;
+    private final ViewCounterService viewCounterService;
+    private final TrendingService trendingService;
+    private final StaleWhileRevalidateCache readCache;
+    private final PostReadModel readModel;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String ALL_POSTS = "all-posts";
+    private static final String POST_BY_SLUG = "post-by-slug";
+    private static final String CATEGORIES = "categories";
+    private static final String TAGS = "tags";
     
+    /** Fixed routes under /api/posts that would shadow GET /api/posts/{slug}; see PostController. */
+    public static final Set<String> RESERVED_SLUGS = Set.of("trending", "changes", "batch");
+    
+    /**
+     * Public listing, newest first, from the read model. Before it is built, from the read
+     * cache, stale if the database is unavailable.
+     */
     public List<PostResponse> getAllPosts() {
-        return postRepository.findAll().stream()
+        PostSnapshot snapshot = readModel.current();
+        if (snapshot != null) {
+            return snapshot.newestFirst();
+        }
+        return readCache.get(ALL_POSTS, "all", this::loadAllPosts);
+    }
+    
+    /**
+     * Every post straight from the database. Fetch joins keep it free of lazy loading, so it
+     * can also run on the read cache's refresh threads.
+     */
+    public List<PostResponse> loadAllPosts() {
+        return postRepository.findAllWithCategoryAndTags().stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * All posts without content, newest first. Two queries regardless of corpus size.
+     */
+    public List<PostSummaryResponse> getPostSummaries() {
+        Map<Long, List<String>> tagsByPost = groupTagNames(postRepository.findAllPostTagNames());
+        return postRepository.findSummaries(Pageable.unpaged()).stream()
+                .map(row -> toSummary(row, tagsByPost))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * The newest posts without content, for feeds. From the read model once it is built.
+     */
+    public List<PostSummaryResponse> getRecentPostSummaries(int limit) {
+        PostSnapshot snapshot = readModel.current();
+        if (snapshot != null) {
+            return snapshot.newestFirst().stream()
+                    .limit(limit)
+                    .map(PostService::toSummary)
+                    .collect(Collectors.toList());
+        }
+        List<Object[]> rows = postRepository.findSummaries(PageRequest.of(0, limit));
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<String>> tagsByPost = groupTagNames(postRepository.findPostTagNamesByPostIdIn(
+                rows.stream().map(row -> (Long) row[0]).collect(Collectors.toList())));
+        return rows.stream()
+                .map(row -> toSummary(row, tagsByPost))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Loads the given posts with one fetch-join query, in no particular order.
+     */
+    public List<PostResponse> getPostsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return postRepository.findAllWithCategoryAndTagsByIdIn(ids).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Every post reduced to the requested attributes, projected from the read model. Before it
+     * is built only their columns are read, and each selection is cached next to the full list.
+     */
+    public List<Map<String, Object>> getAllPostFields(PostFields fields) {
+        PostSnapshot snapshot = readModel.current();
+        if (snapshot != null) {
+            return snapshot.newestFirst().stream()
+                    .map(fields::project)
+                    .collect(Collectors.toList());
+        }
+        return readCache.get(ALL_POSTS, fields.key(), () -> loadPostFields(null, fields));
+    }
+    
+    /**
+     * The given posts reduced to the requested attributes, in the order of {@code ids}.
+     */
+    public List<Map<String, Object>> getPostFieldsByIds(List<Long> ids, PostFields fields) {
+        return loadPostFields(ids, fields);
+    }
+    
+    public List<String> getCategories() {
+        PostSnapshot snapshot = readModel.current();
+        if (snapshot != null) {
+            return snapshot.categories();
+        }
+        return readCache.get(CATEGORIES, "all", postRepository::findDistinctCategories);
+    }
+    
+    public List<String> getTags() {
+        PostSnapshot snapshot = readModel.current();
+        if (snapshot != null) {
+            return snapshot.tags();
+        }
+        return readCache.get(TAGS, "all", postRepository::findAllTags);
+    }
+    
     public PostResponse getPostBySlug(String slug) {
-        Post post = postRepository.findBySlug(slug)
-                .orElseThrow(() -> new RuntimeException("Post not found with slug: " + slug));
-        return convertToResponse(post);
+        PostResponse response = findPostBySlug(slug);
+        viewCounterService.recordView(response.getId());
+        trendingService.recordView(response);
+        return response;
+    }
+    
+    /**
+     * Same read as {@link #getPostBySlug} without counting a view, for cache priming.
+     */
+    public PostResponse findPostBySlug(String slug) {
+        PostSnapshot snapshot = readModel.current();
+        if (snapshot != null) {
+            PostResponse post = snapshot.bySlug(slug);
+            if (post == null) {
+                throw new RuntimeException("Post not found with slug: " + slug);
+            }
+            return post;
+        }
+        return readCache.get(POST_BY_SLUG, slug, () -> postRepository
+                .findWithCategoryAndTagsBySlug(slug)
+                .map(this::convertToResponse)
+                .orElseThrow(() -> new RuntimeException("Post not found with slug: " + slug)));
+    }
+    
+    /**
+     * Posts by slug, keyed by slug, from the read model. Before it is built, cached posts are served
+     * from memory and all the others are loaded with one fetch-join query. Unknown slugs are absent
+     * from the result. No views are counted.
+     */
+    public Map<String, PostResponse> getPostsBySlugs(Collection<String> slugs) {
+        PostSnapshot snapshot = readModel.current();
+        if (snapshot != null) {
+            Map<String, PostResponse> found = new LinkedHashMap<>();
+            for (String slug : slugs) {
+                PostResponse post = snapshot.bySlug(slug);
+                if (post != null) {
+                    found.put(slug, post);
+                }
+            }
+            return found;
+        }
+        return readCache.getAll(POST_BY_SLUG, new LinkedHashSet<>(slugs), missing -> postRepository
+                .findAllWithCategoryAndTagsBySlugIn(missing).stream()
+                .collect(Collectors.toMap(Post::getSlug, this::convertToResponse)));
     }
     
     @Transactional
     public PostResponse createPost(PostRequest request) {
-        // Generate slug from title
-        String slug = generateSlug(request.getTitle());
-        
-        // Check if slug already exists
-        if (postRepository.existsBySlug(slug)) {
-            slug = slug + "-" + System.currentTimeMillis();
-        }
+        String slug = allocateSlug(request.getTitle());
         
         // Create or find category
-        Category category = categoryRepository.findByName(request.getCategory())
-                .orElseGet(() -> {
-                    Category newCategory = Category.builder().name(request.getCategory()).build();
-                    return categoryRepository.save(newCategory);
-                });
+        Category category = findOrCreateCategory(request.getCategory());
         
         // Create or find tags
-        Set<Tag> tags = request.getTags().stream()
-                .map(tagName -> tagRepository.findByName(tagName)
-                        .orElseGet(() -> {
-                            Tag newTag = Tag.builder().name(tagName).build();
-                            return tagRepository.save(newTag);
-                        }))
-                .collect(Collectors.toSet());
+        Set<Tag> tags = findOrCreateTags(request.getTags());
         
         Post post = Post.builder()
                 .slug(slug)
@@ -75,53 +239,274 @@ public class PostService {
                 .build();
         
         Post savedPost = postRepository.save(post);
-        return convertToResponse(savedPost);
+        revisionService.record(savedPost);
+        PostResponse response = convertToResponse(savedPost);
+        recordChanges(List.of(PostChangedEvent.created(response)));
+        return response;
     }
     
     @Transactional
     public PostResponse updatePost(Long id, PostRequest request) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Post not found with id: " + id));
+        revisionService.recordBaseline(post);
         
         post.setTitle(request.getTitle());
         post.setExcerpt(request.getExcerpt());
         post.setContent(request.getContent());
         
         // Update category
-        Category category = categoryRepository.findByName(request.getCategory())
-                .orElseGet(() -> {
-                    Category newCategory = Category.builder().name(request.getCategory()).build();
-                    return categoryRepository.save(newCategory);
-                });
-        post.setCategory(category);
+        post.setCategory(findOrCreateCategory(request.getCategory()));
         
         // Update tags
-        Set<Tag> tags = request.getTags().stream()
-                .map(tagName -> tagRepository.findByName(tagName)
-                        .orElseGet(() -> {
-                            Tag newTag = Tag.builder().name(tagName).build();
-                            return tagRepository.save(newTag);
-                        }))
-                .collect(Collectors.toSet());
-        post.setTags(tags);
+        post.setTags(findOrCreateTags(request.getTags()));
         
         if (request.getReadTime() != null) {
             post.setReadTime(request.getReadTime());
         }
         
         Post updatedPost = postRepository.save(post);
-        return convertToResponse(updatedPost);
+        revisionService.record(updatedPost);
+        PostResponse response = convertToResponse(updatedPost);
+        recordChanges(List.of(PostChangedEvent.updated(response)));
+        return response;
+    }
+    
+    /**
+     * Puts an earlier revision's title, excerpt and content back; the restore itself becomes
+     * the newest revision, so it can be undone the same way.
+     */
+    @Transactional
+    public PostResponse restoreRevision(Long id, int revision) {
+        Post post = postRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Post not found with id: " + id));
+        PostRevisionResponse restored = revisionService.getRevision(id, revision);
+        revisionService.recordBaseline(post);
+        
+        post.setTitle(restored.getTitle());
+        post.setExcerpt(restored.getExcerpt());
+        post.setContent(restored.getContent());
+        
+        Post updatedPost = postRepository.save(post);
+        revisionService.record(updatedPost);
+        PostResponse response = convertToResponse(updatedPost);
+        recordChanges(List.of(PostChangedEvent.updated(response)));
+        return response;
     }
     
     @Transactional
     public void deletePost(Long id) {
-        if (!postRepository.existsById(id)) {
-            throw new RuntimeException("Post not found with id: " + id);
+        Post post = postRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Post not found with id: " + id));
+        postRepository.delete(post);
+        postTombstoneRepository.save(PostTombstone.builder().postId(post.getId()).slug(post.getSlug()).build());
+        recordChanges(List.of(PostChangedEvent.deleted(post.getId(), post.getSlug())));
+    }
+    
+    /**
+     * Deletes the selected posts with two set-based statements.
+     */
+    @Transactional
+    public BulkOperationResponse bulkDelete(BulkPostRequest request) {
+        Map<Long, String> targets = resolveBulkTargets(request);
+        if (targets.isEmpty()) {
+            return emptyBulkResult("delete");
+        }
+        int linksRemoved = postRepository.bulkDeleteTagLinks(targets.keySet());
+        int deleted = postRepository.bulkDeleteByIdIn(targets.keySet());
+        postTombstoneRepository.saveAll(targets.entrySet().stream()
+                .map(target -> PostTombstone.builder().postId(target.getKey()).slug(target.getValue()).build())
+                .collect(Collectors.toList()));
+        recordChanges(targets.entrySet().stream()
+                .map(target -> PostChangedEvent.deleted(target.getKey(), target.getValue()))
+                .collect(Collectors.toList()));
+        return BulkOperationResponse.builder()
+                .operation("delete")
+                .matched(targets.size())
+                .postsAffected(deleted)
+                .tagLinksRemoved(linksRemoved)
+                .build();
+    }
+    
+    /**
+     * Moves the selected posts to another category with one UPDATE.
+     */
+    @Transactional
+    public BulkOperationResponse bulkRecategorize(BulkPostRequest request) {
+        if (request.getTargetCategory() == null || request.getTargetCategory().isBlank()) {
+            throw new IllegalArgumentException("targetCategory is required");
+        }
+        Map<Long, String> targets = resolveBulkTargets(request);
+        if (targets.isEmpty()) {
+            return emptyBulkResult("recategorize");
+        }
+        Category category = findOrCreateCategory(request.getTargetCategory());
+        int updated = postRepository.bulkUpdateCategory(targets.keySet(), category, LocalDateTime.now());
+        publishBulkUpdates(targets.keySet());
+        return BulkOperationResponse.builder()
+                .operation("recategorize")
+                .matched(targets.size())
+                .postsAffected(updated)
+                .build();
+    }
+    
+    /**
+     * Adds and/or removes tags on the selected posts with INSERT ... SELECT / DELETE over post_tags.
+     */
+    @Transactional
+    public BulkOperationResponse bulkRetag(BulkPostRequest request) {
+        List<String> addTags = request.getAddTags() != null ? request.getAddTags() : List.of();
+        List<String> removeTags = request.getRemoveTags() != null ? request.getRemoveTags() : List.of();
+        if (addTags.isEmpty() && removeTags.isEmpty()) {
+            throw new IllegalArgumentException("addTags or removeTags is required");
+        }
+        Map<Long, String> targets = resolveBulkTargets(request);
+        if (targets.isEmpty()) {
+            return emptyBulkResult("retag");
+        }
+        
+        int linksAdded = 0;
+        int linksRemoved = 0;
+        if (!removeTags.isEmpty()) {
+            List<Long> tagIds = tagRepository.findByNameIn(Set.copyOf(removeTags)).stream()
+                    .map(Tag::getId)
+                    .collect(Collectors.toList());
+            if (!tagIds.isEmpty()) {
+                linksRemoved = postRepository.bulkRemoveTagLinks(targets.keySet(), tagIds);
+            }
+        }
+        if (!addTags.isEmpty()) {
+            List<Long> tagIds = findOrCreateTags(addTags).stream()
+                    .map(Tag::getId)
+                    .collect(Collectors.toList());
+            linksAdded = postRepository.bulkAddTagLinks(targets.keySet(), tagIds);
+        }
+        int touched = postRepository.bulkTouch(targets.keySet(), LocalDateTime.now());
+        publishBulkUpdates(targets.keySet());
+        return BulkOperationResponse.builder()
+                .operation("retag")
+                .matched(targets.size())
+                .postsAffected(touched)
+                .tagLinksAdded(linksAdded)
+                .tagLinksRemoved(linksRemoved)
+                .build();
+    }
+    
+    /**
+     * Resolves the bulk selection to (id, slug) with one query. A request without any
+     * selection criteria is rejected so a typo can't rewrite the whole table.
+     */
+    private Map<Long, String> resolveBulkTargets(BulkPostRequest request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byFilter = request.getCategory() != null || request.getTag() != null;
+        if (!byIds && !byFilter) {
+            throw new IllegalArgumentException("Bulk operations need ids or a category/tag filter");
+        }
+        List<Object[]> rows = byFilter
+                ? postRepository.findIdAndSlugByFilter(request.getCategory(), request.getTag())
+                : postRepository.findIdAndSlugByIdIn(request.getIds());
+        Set<Long> allowed = byIds && byFilter ? Set.copyOf(request.getIds()) : null;
+        Map<Long, String> targets = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            if (allowed == null || allowed.contains(id)) {
+                targets.put(id, (String) row[1]);
+            }
+        }
+        return targets;
+    }
+    
+    /**
+     * Reloads the changed posts in one fetch-join query and records their events.
+     */
+    private void publishBulkUpdates(Collection<Long> ids) {
+        recordChanges(postRepository.findAllWithCategoryAndTagsByIdIn(ids).stream()
+                .map(post -> PostChangedEvent.updated(convertToResponse(post)))
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Outbox rows drive side effects on one instance at a time; change log rows let every instance
+     * refresh its in-memory state. Both commit or roll back with the write itself.
+     */
+    private void recordChanges(List<PostChangedEvent> events) {
+        outboxService.recordAll(events);
+        changeLogService.appendPosts(events);
+        // The change log reaches this instance within a poll; don't let the writer read its old data until then
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readModel.apply(events);
+                events.forEach(event -> invalidateReadCache(event.getSlug(), event.getType() == PostChangedEvent.Type.DELETED));
+            }
+        });
+    }
+    
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        switch (event.getEntityType()) {
+            case POST -> invalidateReadCache(event.getKey(), event.isDeleted());
+            case CATEGORY, TAG -> {
+                readCache.invalidateGroup(CATEGORIES);
+                readCache.invalidateGroup(TAGS);
+            }
+            default -> {
+            }
+        }
+    }
+    
+    private void invalidateReadCache(String slug, boolean deleted) {
+        readCache.invalidateGroup(ALL_POSTS);
+        readCache.invalidateGroup(CATEGORIES);
+        readCache.invalidateGroup(TAGS);
+        if (deleted) {
+            readCache.remove(POST_BY_SLUG, slug);
+        } else {
+            readCache.invalidate(POST_BY_SLUG, slug);
         }
-        postRepository.deleteById(id);
+    }
+    
+    private static BulkOperationResponse emptyBulkResult(String operation) {
+        return BulkOperationResponse.builder().operation(operation).build();
+    }
+    
+    private Category findOrCreateCategory(String name) {
+        return categoryRepository.findByName(name).orElseGet(() -> {
+            Category category = categoryRepository.save(Category.builder().name(name).build());
+            // Other instances may have cached "no such category" for this name
+            changeLogService.append(CacheInvalidationEvent.EntityType.CATEGORY, category.getId(), name, false);
+            return category;
+        });
+    }
+    
+    /**
+     * Looks up all tags with one IN query and creates only the missing ones.
+     */
+    private Set<Tag> findOrCreateTags(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<String> wanted = new LinkedHashSet<>(names);
+        Set<Tag> tags = new HashSet<>(tagRepository.findByNameIn(wanted));
+        tags.forEach(tag -> wanted.remove(tag.getName()));
+        for (String name : wanted) {
+            Tag tag = tagRepository.save(Tag.builder().name(name).build());
+            changeLogService.append(CacheInvalidationEvent.EntityType.TAG, tag.getId(), name, false);
+            tags.add(tag);
+        }
+        return tags;
     }
     
     private PostResponse convertToResponse(Post post) {
+        long started = ServerTiming.start();
+        try {
+            return toResponse(post);
+        } finally {
+            ServerTiming.stop(ServerTiming.Phase.CONVERT, started);
+        }
+    }
+    
+    static PostResponse toResponse(Post post) {
         return PostResponse.builder()
                 .id(post.getId())
                 .slug(post.getSlug())
@@ -134,10 +519,90 @@ public class PostService {
                         List.of())
                 .readTime(post.getReadTime())
                 .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
                 .date(post.getCreatedAt().format(DATE_FORMATTER))
                 .build();
     }
     
+    private static PostSummaryResponse toSummary(PostResponse post) {
+        return PostSummaryResponse.builder()
+                .id(post.getId())
+                .slug(post.getSlug())
+                .title(post.getTitle())
+                .excerpt(post.getExcerpt())
+                .category(post.getCategory())
+                .tags(post.getTags())
+                .readTime(post.getReadTime())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .date(post.getDate())
+                .build();
+    }
+    
+    private PostSummaryResponse toSummary(Object[] row, Map<Long, List<String>> tagsByPost) {
+        LocalDateTime createdAt = (LocalDateTime) row[6];
+        return PostSummaryResponse.builder()
+                .id((Long) row[0])
+                .slug((String) row[1])
+                .title((String) row[2])
+                .excerpt((String) row[3])
+                .category((String) row[4])
+                .tags(tagsByPost.getOrDefault((Long) row[0], List.of()))
+                .readTime((String) row[5])
+                .createdAt(createdAt)
+                .updatedAt((LocalDateTime) row[7])
+                .date(createdAt != null ? createdAt.format(DATE_FORMATTER) : null)
+                .build();
+    }
+    
+    private List<Map<String, Object>> loadPostFields(List<Long> ids, PostFields fields) {
+        List<String> columns = fields.columns();
+        List<Object[]> rows = new ArrayList<>(postRepository.findColumns(ids, columns));
+        Map<Long, List<String>> tagsByPost = !fields.contains("tags") ? Map.of() : groupTagNames(ids == null
+                ? postRepository.findAllPostTagNames()
+                : postRepository.findPostTagNamesByPostIdIn(ids));
+        if (ids != null) {
+            rows.sort(Comparator.comparingInt(row -> ids.indexOf((Long) row[0])));
+        }
+        List<Map<String, Object>> posts = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> values = new HashMap<>();
+            values.put("id", row[0]);
+            for (int i = 0; i < columns.size(); i++) {
+                values.put(columns.get(i), row[i + 1]);
+            }
+            values.put("tags", tagsByPost.getOrDefault((Long) row[0], List.of()));
+            LocalDateTime createdAt = (LocalDateTime) values.get("createdAt");
+            values.put("date", createdAt != null ? createdAt.format(DATE_FORMATTER) : null);
+            posts.add(fields.select(values));
+        }
+        return posts;
+    }
+    
+    private static Map<Long, List<String>> groupTagNames(List<Object[]> rows) {
+        Map<Long, List<String>> tagsByPost = new HashMap<>();
+        for (Object[] row : rows) {
+            tagsByPost.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+        return tagsByPost;
+    }
+    
+    private String allocateSlug(String title) {
+        SlugAllocationEvent event = new SlugAllocationEvent();
+        event.begin();
+        // Generate slug from title
+        String slug = generateSlug(title);
+        
+        // Check if slug already exists; a reserved one could never be read back, so it collides too
+        event.collided = RESERVED_SLUGS.contains(slug) || postRepository.existsBySlug(slug);
+        if (event.collided) {
+            slug = slug + "-" + System.currentTimeMillis();
+        }
+        event.slug = slug;
+        event.commit();
+        return slug;
+    }
+    
     private String generateSlug(String title) {
         return title.toLowerCase()
                 .replaceAll("[^a-z0-9\\s-]", "")
@@ -0,0 +1,162 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.dto.DeletedPostResponse;
+import com.novatech.blog.dto.PostChangesResponse;
+import com.novatech.blog.dto.PostResponse;
+import com.novatech.blog.entity.PostTombstone;
+import com.novatech.blog.repository.PostRepository;
+import com.novatech.blog.repository.PostTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync for clients that keep a local copy of the post list.
+ * <p>
+ * The opaque cursor holds the last (updatedAt, id) returned, the last tombstone id and
+ * when it was issued. Rows newer than the settle window are held back so a transaction
+ * that stamped updatedAt earlier but commits later is not skipped by the cursor.
+ */
+@Service
+@Slf4j
+public class PostSyncService {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final PostService postService;
+    private final PostRepository postRepository;
+    private final PostTombstoneRepository postTombstoneRepository;
+    private final Duration settle;
+    private final Duration tombstoneRetention;
+    private final int maxLimit;
+
+    public PostSyncService(
+            PostService postService,
+            PostRepository postRepository,
+            PostTombstoneRepository postTombstoneRepository,
+            @Value("${blog.sync.settle-ms:2000}") long settleMillis,
+            @Value("${blog.sync.tombstone-retention-days:90}") long tombstoneRetentionDays,
+            @Value("${blog.sync.max-limit:500}") int maxLimit
+    ) {
+        this.postService = postService;
+        this.postRepository = postRepository;
+        this.postTombstoneRepository = postTombstoneRepository;
+        this.settle = Duration.ofMillis(settleMillis);
+        this.tombstoneRetention = Duration.ofDays(tombstoneRetentionDays);
+        this.maxLimit = maxLimit;
+    }
+
+    @Transactional(readOnly = true)
+    public PostChangesResponse getChangesSince(String since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxLimit));
+        LocalDateTime now = LocalDateTime.now();
+        Cursor cursor = since == null || since.isBlank() ? Cursor.START : Cursor.decode(since);
+
+        if (cursor.issuedAt().isBefore(now.minus(tombstoneRetention))) {
+            return PostChangesResponse.builder()
+                    .posts(List.of())
+                    .deleted(List.of())
+                    .cursor(Cursor.START.encode())
+                    .resetRequired(true)
+                    .build();
+        }
+
+        LocalDateTime settledBefore = now.minus(settle);
+        List<Long> changedIds = postRepository.findChangedIdsAfter(
+                cursor.updatedAt(), cursor.postId(), settledBefore, PageRequest.of(0, pageSize + 1));
+        List<PostTombstone> tombstones = postTombstoneRepository.findChangesAfter(
+                cursor.tombstoneId(), settledBefore, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = changedIds.size() > pageSize || tombstones.size() > pageSize;
+        changedIds = changedIds.subList(0, Math.min(pageSize, changedIds.size()));
+        tombstones = tombstones.subList(0, Math.min(pageSize, tombstones.size()));
+
+        // Re-establish keyset order, the fetch-join query does not guarantee it
+        Map<Long, PostResponse> byId = postService.getPostsByIds(changedIds).stream()
+                .collect(Collectors.toMap(PostResponse::getId, Function.identity()));
+        List<PostResponse> posts = changedIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(PostResponse::getUpdatedAt).thenComparing(PostResponse::getId))
+                .collect(Collectors.toList());
+
+        Cursor next = cursor.withIssuedAt(settledBefore);
+        if (!posts.isEmpty()) {
+            PostResponse last = posts.get(posts.size() - 1);
+            next = next.withPost(last.getUpdatedAt(), last.getId());
+        }
+        if (!tombstones.isEmpty()) {
+            next = next.withTombstone(tombstones.get(tombstones.size() - 1).getId());
+        }
+
+        return PostChangesResponse.builder()
+                .posts(posts)
+                .deleted(tombstones.stream()
+                        .map(t -> DeletedPostResponse.builder()
+                                .id(t.getPostId())
+                                .slug(t.getSlug())
+                                .deletedAt(t.getDeletedAt())
+                                .build())
+                        .collect(Collectors.toList()))
+                .cursor(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Scheduled(cron = "${blog.sync.tombstone-purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = postTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            log.info("Purged {} post tombstones older than {}", purged, tombstoneRetention);
+        }
+    }
+
+    private record Cursor(LocalDateTime updatedAt, long postId, long tombstoneId, LocalDateTime issuedAt) {
+
+        static final Cursor START = new Cursor(EPOCH, 0, 0, LocalDateTime.MAX);
+
+        Cursor withPost(LocalDateTime updatedAt, long postId) {
+            return new Cursor(updatedAt, postId, tombstoneId, issuedAt);
+        }
+
+        Cursor withTombstone(long tombstoneId) {
+            return new Cursor(updatedAt, postId, tombstoneId, issuedAt);
+        }
+
+        Cursor withIssuedAt(LocalDateTime issuedAt) {
+            return new Cursor(updatedAt, postId, tombstoneId, issuedAt);
+        }
+
+        String encode() {
+            String raw = updatedAt + "|" + postId + "|" + tombstoneId + "|" + issuedAt;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String value) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split("\\|");
+                return new Cursor(
+                        LocalDateTime.parse(parts[0]),
+                        Long.parseLong(parts[1]),
+                        Long.parseLong(parts[2]),
+                        LocalDateTime.parse(parts[3]));
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("Invalid sync cursor");
+            }
+        }
+    }
+}
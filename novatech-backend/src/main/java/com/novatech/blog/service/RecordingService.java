@@ -0,0 +1,182 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.dto.RecordingResponse;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Flight Recorder recording of the JDK's default events plus the application's own events
+ * (package {@code com.novatech.blog.jfr}) with the settings from {@code jfr/blog.jfc}.
+ * <p>
+ * With {@code always-on} a recording runs from startup, keeping the last {@code max-age-minutes}
+ * (at most {@code max-size-mb}) in JFR's disk repository. Admins dump it to {@code dir} after an
+ * incident, or stop it and start it again. Dump files are named by time; nothing is written
+ * outside {@code dir}.
+ */
+@Service
+@Slf4j
+public class RecordingService {
+
+    private static final String SETTINGS = "jfr/blog.jfc";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final boolean alwaysOn;
+    private final Path dir;
+    private final Duration maxAge;
+    private final long maxSizeMb;
+
+    // Guarded by this
+    private Recording recording;
+
+    public RecordingService(
+            @Value("${blog.jfr.always-on:true}") boolean alwaysOn,
+            @Value("${blog.jfr.dir:./recordings}") String dir,
+            @Value("${blog.jfr.max-age-minutes:60}") long maxAgeMinutes,
+            @Value("${blog.jfr.max-size-mb:100}") long maxSizeMb
+    ) {
+        this.alwaysOn = alwaysOn;
+        this.dir = Paths.get(dir).toAbsolutePath().normalize();
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.maxSizeMb = maxSizeMb;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (alwaysOn) {
+            start();
+        }
+    }
+
+    public synchronized RecordingResponse start() {
+        if (isRunning()) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        Recording started = new Recording(settings());
+        started.setName("blog");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSizeMb * 1024 * 1024);
+        started.start();
+        recording = started;
+        log.info("Flight recording started, keeping the last {} min / {} MB", maxAge.toMinutes(), maxSizeMb);
+        return status(null);
+    }
+
+    /**
+     * Writes what the running recording holds to a new file and keeps recording.
+     */
+    public synchronized RecordingResponse dump() {
+        if (!isRunning()) {
+            throw new IllegalStateException("No recording is running");
+        }
+        return status(writeDump());
+    }
+
+    /**
+     * Dumps the running recording, then stops it.
+     */
+    public synchronized RecordingResponse stop() {
+        if (!isRunning()) {
+            throw new IllegalStateException("No recording is running");
+        }
+        Path file = writeDump();
+        recording.close();
+        recording = null;
+        log.info("Flight recording stopped");
+        return status(file);
+    }
+
+    public synchronized RecordingResponse getStatus() {
+        return status(null);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    private Path writeDump() {
+        try {
+            Files.createDirectories(dir);
+            Path file = dir.resolve("blog-" + LocalDateTime.now().format(FILE_TIME) + ".jfr");
+            recording.dump(file);
+            log.info("Flight recording dumped to {}", file);
+            return file;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write the recording to " + dir, ex);
+        }
+    }
+
+    private RecordingResponse status(Path dumped) {
+        boolean running = isRunning();
+        return RecordingResponse.builder()
+                .running(running)
+                .startedAt(running ? LocalDateTime.ofInstant(recording.getStartTime(), ZoneId.systemDefault()) : null)
+                .maxAgeMinutes(maxAge.toMinutes())
+                .maxSizeMb(maxSizeMb)
+                .dumped(dumped != null ? dumped.toString() : null)
+                .dumps(listDumps())
+                .build();
+    }
+
+    private List<String> listDumps() {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .map(Path::toString)
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // JDK defaults with the application's event settings on top
+    private static Map<String, String> settings() {
+        try (Reader reader = new InputStreamReader(new ClassPathResource(SETTINGS).getInputStream(), StandardCharsets.UTF_8)) {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(Configuration.create(reader).getSettings());
+            return settings;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read " + SETTINGS, ex);
+        } catch (ParseException ex) {
+            throw new IllegalStateException("Invalid " + SETTINGS, ex);
+        }
+    }
+}
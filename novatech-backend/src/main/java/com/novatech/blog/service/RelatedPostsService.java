@@ -0,0 +1,291 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.dto.PostResponse;
+import com.novatech.blog.dto.RelatedPostResponse;
+import com.novatech.blog.entity.Post;
+import com.novatech.blog.entity.Tag;
+import com.novatech.blog.event.CacheInvalidationEvent;
+import com.novatech.blog.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the top-K most similar posts for every post in memory.
+ * <p>
+ * Similarity is the sum of the IDF weights of the shared tags (rare tags count more)
+ * plus a fixed bonus for a shared category. Writes are serialized and only touch the
+ * posts that share a tag or category with the changed post; reads never lock.
+ * IDF weights drift slightly between full rebuilds, which only happen at startup.
+ */
+@Service
+@Slf4j
+public class RelatedPostsService {
+
+    private static final Comparator<Neighbor> BY_RELEVANCE = Comparator
+            .comparingDouble(Neighbor::score)
+            .thenComparingLong(Neighbor::postId);
+
+    private final PostRepository postRepository;
+    private final int topK;
+    private final double categoryWeight;
+
+    // Inverted indexes, only mutated while holding the monitor
+    private final Map<String, Set<Long>> postsByTag = new HashMap<>();
+    private final Map<String, Set<Long>> postsByCategory = new HashMap<>();
+
+    // Read side, values are immutable so readers never lock
+    private final Map<Long, PostFeatures> features = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsBySlug = new ConcurrentHashMap<>();
+    private final Map<Long, List<Neighbor>> relatedById = new ConcurrentHashMap<>();
+
+    public RelatedPostsService(
+            PostRepository postRepository,
+            @Value("${blog.related.top-k:10}") int topK,
+            @Value("${blog.related.category-weight:0.5}") double categoryWeight
+    ) {
+        this.postRepository = postRepository;
+        this.topK = topK;
+        this.categoryWeight = categoryWeight;
+    }
+
+    public List<RelatedPostResponse> getRelatedPosts(String slug, int limit) {
+        Long id = idsBySlug.get(slug);
+        if (id == null) {
+            throw new RuntimeException("Post not found with slug: " + slug);
+        }
+        List<RelatedPostResponse> result = new ArrayList<>();
+        for (Neighbor neighbor : relatedById.getOrDefault(id, List.of())) {
+            if (result.size() >= limit) {
+                break;
+            }
+            PostFeatures related = features.get(neighbor.postId());
+            if (related != null) {
+                result.add(RelatedPostResponse.builder()
+                        .id(related.id())
+                        .slug(related.slug())
+                        .title(related.title())
+                        .category(related.category())
+                        .score(neighbor.score())
+                        .build());
+            }
+        }
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        List<Post> posts = postRepository.findAllWithCategoryAndTags();
+
+        postsByTag.clear();
+        postsByCategory.clear();
+        features.clear();
+        idsBySlug.clear();
+        relatedById.clear();
+
+        for (Post post : posts) {
+            PostFeatures f = new PostFeatures(
+                    post.getId(),
+                    post.getSlug(),
+                    post.getTitle(),
+                    post.getCategory() != null ? post.getCategory().getName() : null,
+                    post.getTags() != null ?
+                            post.getTags().stream().map(Tag::getName).collect(Collectors.toUnmodifiableSet()) :
+                            Set.of()
+            );
+            index(f);
+        }
+        for (PostFeatures f : features.values()) {
+            relatedById.put(f.id(), computeTopK(f));
+        }
+        log.info("Related posts index built for {} posts in {} ms", posts.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (!event.isPost()) {
+            return;
+        }
+        if (event.isDeleted()) {
+            remove(event.getEntityId());
+        } else {
+            upsert(event.getPost());
+        }
+    }
+
+    public synchronized void upsert(PostResponse post) {
+        Set<Long> affected = new HashSet<>();
+        PostFeatures old = features.get(post.getId());
+        if (old != null) {
+            affected.addAll(candidatesOf(old));
+            unindex(old);
+        }
+
+        PostFeatures f = new PostFeatures(
+                post.getId(),
+                post.getSlug(),
+                post.getTitle(),
+                post.getCategory(),
+                post.getTags() != null ? Set.copyOf(post.getTags()) : Set.of()
+        );
+        index(f);
+        affected.addAll(candidatesOf(f));
+        relatedById.put(f.id(), computeTopK(f));
+
+        for (Long neighborId : affected) {
+            refreshNeighbor(neighborId, f.id(), f);
+        }
+    }
+
+    public synchronized void remove(Long postId) {
+        PostFeatures old = features.get(postId);
+        if (old == null) {
+            return;
+        }
+        Set<Long> affected = candidatesOf(old);
+        unindex(old);
+        relatedById.remove(postId);
+
+        for (Long neighborId : affected) {
+            refreshNeighbor(neighborId, postId, null);
+        }
+    }
+
+    /**
+     * Re-scores one neighbor against the changed post without recomputing its whole list,
+     * unless the changed post lost score in a full list: the best candidate left out of that
+     * list may now outrank it, and only a full recompute finds that candidate.
+     */
+    private void refreshNeighbor(Long neighborId, Long changedId, PostFeatures changed) {
+        PostFeatures neighbor = features.get(neighborId);
+        if (neighbor == null) {
+            return;
+        }
+        List<Neighbor> current = relatedById.getOrDefault(neighborId, List.of());
+        List<Neighbor> next = new ArrayList<>(current.size() + 1);
+        boolean hadChanged = false;
+        double oldScore = 0;
+        for (Neighbor n : current) {
+            if (n.postId() == changedId) {
+                hadChanged = true;
+                oldScore = n.score();
+            } else {
+                next.add(n);
+            }
+        }
+
+        double score = changed != null ? similarity(neighbor, changed) : 0;
+        if (hadChanged && current.size() >= topK && score < oldScore) {
+            relatedById.put(neighborId, computeTopK(neighbor));
+            return;
+        }
+        if (score > 0) {
+            next.add(new Neighbor(changedId, score));
+        }
+
+        next.sort(BY_RELEVANCE.reversed());
+        relatedById.put(neighborId, List.copyOf(next.subList(0, Math.min(topK, next.size()))));
+    }
+
+    private List<Neighbor> computeTopK(PostFeatures f) {
+        PriorityQueue<Neighbor> heap = new PriorityQueue<>(topK + 1, BY_RELEVANCE);
+        for (Long candidateId : candidatesOf(f)) {
+            PostFeatures candidate = features.get(candidateId);
+            double score = similarity(f, candidate);
+            if (score > 0) {
+                heap.offer(new Neighbor(candidateId, score));
+                if (heap.size() > topK) {
+                    heap.poll();
+                }
+            }
+        }
+        List<Neighbor> result = new ArrayList<>(heap);
+        result.sort(BY_RELEVANCE.reversed());
+        return List.copyOf(result);
+    }
+
+    private double similarity(PostFeatures a, PostFeatures b) {
+        double score = 0;
+        Set<String> smaller = a.tags().size() <= b.tags().size() ? a.tags() : b.tags();
+        Set<String> larger = smaller == a.tags() ? b.tags() : a.tags();
+        for (String tag : smaller) {
+            if (larger.contains(tag)) {
+                score += idf(tag);
+            }
+        }
+        if (a.category() != null && a.category().equals(b.category())) {
+            score += categoryWeight;
+        }
+        return score;
+    }
+
+    private double idf(String tag) {
+        int df = postsByTag.getOrDefault(tag, Set.of()).size();
+        return Math.log(1.0 + (double) features.size() / Math.max(1, df));
+    }
+
+    private Set<Long> candidatesOf(PostFeatures f) {
+        Set<Long> candidates = new HashSet<>();
+        for (String tag : f.tags()) {
+            candidates.addAll(postsByTag.getOrDefault(tag, Set.of()));
+        }
+        if (f.category() != null) {
+            candidates.addAll(postsByCategory.getOrDefault(f.category(), Set.of()));
+        }
+        candidates.remove(f.id());
+        return candidates;
+    }
+
+    private void index(PostFeatures f) {
+        features.put(f.id(), f);
+        idsBySlug.put(f.slug(), f.id());
+        for (String tag : f.tags()) {
+            postsByTag.computeIfAbsent(tag, k -> new HashSet<>()).add(f.id());
+        }
+        if (f.category() != null) {
+            postsByCategory.computeIfAbsent(f.category(), k -> new HashSet<>()).add(f.id());
+        }
+    }
+
+    private void unindex(PostFeatures f) {
+        features.remove(f.id());
+        idsBySlug.remove(f.slug(), f.id());
+        removePosting(postsByTag, f.tags(), f.id());
+        if (f.category() != null) {
+            removePosting(postsByCategory, Set.of(f.category()), f.id());
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, Collection<String> keys, Long id) {
+        for (String key : keys) {
+            Set<Long> ids = postings.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    private record PostFeatures(Long id, String slug, String title, String category, Set<String> tags) {
+    }
+
+    private record Neighbor(long postId, double score) {
+    }
+}
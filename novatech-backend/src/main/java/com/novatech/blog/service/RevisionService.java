@@ -0,0 +1,168 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.dto.PostRevisionResponse;
+import com.novatech.blog.dto.RevisionHistoryResponse;
+import com.novatech.blog.dto.RevisionSummaryResponse;
+import com.novatech.blog.entity.Post;
+import com.novatech.blog.entity.PostRevision;
+import com.novatech.blog.event.PostChangedEvent;
+import com.novatech.blog.repository.PostRevisionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Revision history of post title, excerpt and content.
+ * <p>
+ * A snapshot stores the deflated content; the revisions after it store only a {@link TextDelta}
+ * against that snapshot. A new snapshot is taken every {@code snapshot-interval} revisions or once
+ * a delta grows past {@code snapshot-ratio} of a snapshot's size, so rebuilding any revision
+ * reads at most two rows and applies at most one delta.
+ */
+@Service
+public class RevisionService {
+
+    private final PostRevisionRepository postRevisionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int snapshotInterval;
+    private final double snapshotRatio;
+
+    public RevisionService(
+            PostRevisionRepository postRevisionRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${blog.revisions.snapshot-interval:20}") int snapshotInterval,
+            @Value("${blog.revisions.snapshot-ratio:0.5}") double snapshotRatio
+    ) {
+        this.postRevisionRepository = postRevisionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotInterval = snapshotInterval;
+        this.snapshotRatio = snapshotRatio;
+    }
+
+    /**
+     * Appends the post's current text as a new revision, unless it matches the latest one.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Post post) {
+        String content = post.getContent() != null ? post.getContent() : "";
+        Optional<PostRevision> latest = postRevisionRepository.findFirstByPostIdOrderByRevisionDesc(post.getId());
+        if (latest.isEmpty()) {
+            save(post, 1, null, TextDelta.compress(content));
+            return;
+        }
+
+        PostRevision previous = latest.get();
+        PostRevision snapshot = previous.isSnapshot() ? previous : loadSnapshot(previous);
+        String base = TextDelta.decompress(snapshot.getData());
+        if (Objects.equals(previous.getTitle(), post.getTitle())
+                && Objects.equals(previous.getExcerpt(), post.getExcerpt())
+                && rebuild(previous, base).equals(content)) {
+            return;
+        }
+
+        int number = previous.getRevision() + 1;
+        byte[] compressed = TextDelta.compress(content);
+        if (number - snapshot.getRevision() < snapshotInterval) {
+            byte[] delta = TextDelta.diff(base, content);
+            if (delta.length <= compressed.length * snapshotRatio) {
+                save(post, number, snapshot.getRevision(), delta);
+                return;
+            }
+        }
+        save(post, number, null, compressed);
+    }
+
+    /**
+     * Records the text a post had before history existed, so its first edit stays reversible.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBaseline(Post post) {
+        if (!postRevisionRepository.existsByPostId(post.getId())) {
+            save(post, 1, null, TextDelta.compress(post.getContent() != null ? post.getContent() : ""));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public RevisionHistoryResponse getHistory(Long postId) {
+        List<RevisionSummaryResponse> revisions = postRevisionRepository.findSummariesByPostId(postId).stream()
+                .map(row -> RevisionSummaryResponse.builder()
+                        .revision((Integer) row[0])
+                        .snapshot(row[1] == null)
+                        .baseRevision((Integer) row[1])
+                        .title((String) row[2])
+                        .fullSize((Integer) row[3])
+                        .storedSize((Integer) row[4])
+                        .createdAt((LocalDateTime) row[5])
+                        .build())
+                .collect(Collectors.toList());
+        return RevisionHistoryResponse.builder()
+                .postId(postId)
+                .revisions(revisions)
+                .fullCopyBytes(revisions.stream().mapToLong(RevisionSummaryResponse::getFullSize).sum())
+                .storedBytes(revisions.stream().mapToLong(RevisionSummaryResponse::getStoredSize).sum())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public PostRevisionResponse getRevision(Long postId, int number) {
+        PostRevision revision = postRevisionRepository.findByPostIdAndRevision(postId, number)
+                .orElseThrow(() -> new RuntimeException("Revision " + number + " not found for post " + postId));
+        String base = revision.isSnapshot() ? null : TextDelta.decompress(loadSnapshot(revision).getData());
+        return PostRevisionResponse.builder()
+                .postId(postId)
+                .revision(number)
+                .title(revision.getTitle())
+                .excerpt(revision.getExcerpt())
+                .content(rebuild(revision, base))
+                .createdAt(revision.getCreatedAt())
+                .build();
+    }
+
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.DELETED) {
+            jdbcTemplate.update("DELETE FROM post_revisions WHERE post_id = ?", event.getPostId());
+        }
+    }
+
+    private void save(Post post, int number, Integer baseRevision, byte[] data) {
+        String content = post.getContent() != null ? post.getContent() : "";
+        postRevisionRepository.save(PostRevision.builder()
+                .postId(post.getId())
+                .revision(number)
+                .baseRevision(baseRevision)
+                .title(post.getTitle())
+                .excerpt(post.getExcerpt())
+                .data(data)
+                .fullSize(utf8Length(post.getTitle()) + utf8Length(post.getExcerpt()) + utf8Length(content))
+                .storedSize(data.length + utf8Length(post.getTitle()) + utf8Length(post.getExcerpt()))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private PostRevision loadSnapshot(PostRevision delta) {
+        return postRevisionRepository.findByPostIdAndRevision(delta.getPostId(), delta.getBaseRevision())
+                .orElseThrow(() -> new IllegalStateException("Snapshot " + delta.getBaseRevision()
+                        + " of post " + delta.getPostId() + " is missing"));
+    }
+
+    private static String rebuild(PostRevision revision, String snapshotContent) {
+        return revision.isSnapshot()
+                ? TextDelta.decompress(revision.getData())
+                : TextDelta.apply(snapshotContent, revision.getData());
+    }
+
+    private static int utf8Length(String text) {
+        return text != null ? text.getBytes(StandardCharsets.UTF_8).length : 0;
+    }
+}
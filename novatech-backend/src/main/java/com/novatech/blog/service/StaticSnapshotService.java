@@ -0,0 +1,378 @@
+package com.novatech.blog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novatech.blog.dto.PostResponse;
+import com.novatech.blog.dto.PostSummaryResponse;
+import com.novatech.blog.dto.SnapshotVerifyResponse;
+import com.novatech.blog.event.CacheInvalidationEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Renders the public read API into static files that nginx or a CDN can serve directly:
+ * <pre>
+ *   posts/{slug}.json(.gz)     same body as GET /api/posts/{slug}
+ *   posts/page/{n}.json(.gz)   post summaries, newest first
+ *   manifest.json              sha-256 and updatedAt of everything published
+ * </pre>
+ * Changes are applied on a single background thread after commit. Only the changed post file
+ * and list pages whose bytes actually differ are rewritten, each via write-then-rename.
+ */
+@Service
+@Slf4j
+public class StaticSnapshotService {
+
+    private static final String MANIFEST = "manifest.json";
+
+    private final PostService postService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path root;
+    private final int pageSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "static-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    // slug -> latest content to publish, null means delete
+    private final Map<String, PostResponse> pending = new LinkedHashMap<>();
+
+    // Last published manifest, guarded by this
+    private Manifest manifest;
+
+    public StaticSnapshotService(
+            PostService postService,
+            ObjectMapper objectMapper,
+            @Value("${blog.snapshot.enabled:false}") boolean enabled,
+            @Value("${blog.snapshot.dir:./static-snapshot}") String dir,
+            @Value("${blog.snapshot.page-size:20}") int pageSize
+    ) {
+        this.postService = postService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.pageSize = pageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (!enabled || !event.isPost()) {
+            return;
+        }
+        synchronized (pending) {
+            pending.put(event.getKey(), event.getPost());
+        }
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::publishPending);
+        }
+    }
+
+    /**
+     * Re-renders every post and page, writing only files whose content changed.
+     */
+    public synchronized void rebuild() {
+        requireEnabled();
+        long start = System.currentTimeMillis();
+        try {
+            Manifest current = loadManifest();
+            Manifest next = new Manifest();
+            int written = 0;
+            for (PostResponse post : postService.loadAllPosts()) {
+                if (writePost(post, current, next)) {
+                    written++;
+                }
+            }
+            for (String stale : current.posts.keySet()) {
+                if (!next.posts.containsKey(stale)) {
+                    deletePost(stale);
+                }
+            }
+            List<PostSummaryResponse> summaries = postService.getPostSummaries();
+            stampUpdatedAt(next, summaries);
+            written += writePages(summaries, current, next);
+            writeManifest(next);
+            manifest = next;
+            log.info("Static snapshot rebuilt in {} ms, {} files rewritten", System.currentTimeMillis() - start, written);
+        } catch (IOException | RuntimeException ex) {
+            log.error("Static snapshot rebuild failed", ex);
+        }
+    }
+
+    public SnapshotVerifyResponse verify() {
+        requireEnabled();
+        Manifest published;
+        try {
+            published = loadManifest();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        List<String> missing = new ArrayList<>();
+        List<String> stale = new ArrayList<>();
+        List<String> corrupt = new ArrayList<>();
+        Map<String, PostSummaryResponse> bySlug = new LinkedHashMap<>();
+        for (PostSummaryResponse summary : postService.getPostSummaries()) {
+            bySlug.put(summary.getSlug(), summary);
+            ManifestEntry entry = published.posts.get(summary.getSlug());
+            if (entry == null) {
+                missing.add(summary.getSlug());
+            } else if (!Objects.equals(entry.updatedAt(), summary.getUpdatedAt())) {
+                stale.add(summary.getSlug());
+            } else if (!entry.sha256().equals(hashOf(postFile(summary.getSlug())))) {
+                corrupt.add(summary.getSlug());
+            }
+        }
+        List<String> orphaned = published.posts.keySet().stream()
+                .filter(slug -> !bySlug.containsKey(slug))
+                .toList();
+        return SnapshotVerifyResponse.builder()
+                .generatedAt(published.generatedAt)
+                .postsInDatabase(bySlug.size())
+                .postsInSnapshot(published.posts.size())
+                .missing(missing)
+                .stale(stale)
+                .orphaned(orphaned)
+                .corrupt(corrupt)
+                .consistent(missing.isEmpty() && stale.isEmpty() && orphaned.isEmpty() && corrupt.isEmpty())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // Nothing keeps the files current while disabled, so building or checking them would mislead
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new IllegalStateException("The static snapshot is disabled (blog.snapshot.enabled=false)");
+        }
+    }
+
+    private synchronized void publishPending() {
+        scheduled.set(false);
+        Map<String, PostResponse> batch;
+        synchronized (pending) {
+            batch = new LinkedHashMap<>(pending);
+            pending.clear();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            Manifest current = manifest != null ? manifest : loadManifest();
+            Manifest next = current.copy();
+            for (Map.Entry<String, PostResponse> change : batch.entrySet()) {
+                if (change.getValue() == null) {
+                    deletePost(change.getKey());
+                    next.posts.remove(change.getKey());
+                } else {
+                    next.posts.remove(change.getKey());
+                    writePost(change.getValue(), current, next);
+                }
+            }
+            // Pages are re-rendered in memory; only the ones whose bytes differ hit the disk
+            List<PostSummaryResponse> summaries = postService.getPostSummaries();
+            stampUpdatedAt(next, summaries);
+            int pages = writePages(summaries, current, next);
+            writeManifest(next);
+            manifest = next;
+            log.debug("Static snapshot updated for {} posts, {} pages rewritten", batch.size(), pages);
+        } catch (IOException | RuntimeException ex) {
+            log.error("Static snapshot update failed, scheduling full rebuild", ex);
+            manifest = null;
+            executor.execute(this::rebuild);
+        }
+    }
+
+    private boolean writePost(PostResponse post, Manifest current, Manifest next) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(post);
+        String sha = sha256(json);
+        ManifestEntry previous = current.posts.get(post.getSlug());
+        next.posts.put(post.getSlug(), new ManifestEntry(post.getId(), null, sha));
+        if (previous != null && previous.sha256().equals(sha) && Files.exists(postFile(post.getSlug()))) {
+            return false;
+        }
+        publish(postFile(post.getSlug()), json);
+        return true;
+    }
+
+    private void deletePost(String slug) throws IOException {
+        Files.deleteIfExists(postFile(slug));
+        Files.deleteIfExists(gzipSibling(postFile(slug)));
+    }
+
+    private int writePages(List<PostSummaryResponse> summaries, Manifest current, Manifest next) throws IOException {
+        int totalPages = Math.max(1, (summaries.size() + pageSize - 1) / pageSize);
+        int written = 0;
+        for (int page = 1; page <= totalPages; page++) {
+            int from = (page - 1) * pageSize;
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("page", page);
+            body.put("totalPages", totalPages);
+            body.put("totalPosts", summaries.size());
+            body.put("posts", summaries.subList(from, Math.min(from + pageSize, summaries.size())));
+
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            String sha = sha256(json);
+            next.pages.put(page, sha);
+            if (!sha.equals(current.pages.get(page)) || !Files.exists(pageFile(page))) {
+                publish(pageFile(page), json);
+                written++;
+            }
+        }
+        for (Integer page : current.pages.keySet()) {
+            if (page > totalPages) {
+                Files.deleteIfExists(pageFile(page));
+                Files.deleteIfExists(gzipSibling(pageFile(page)));
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Records the DB updatedAt of every published post so verify() can detect drift.
+     */
+    private static void stampUpdatedAt(Manifest next, List<PostSummaryResponse> summaries) {
+        Map<String, LocalDateTime> updatedAt = new HashMap<>();
+        summaries.forEach(summary -> updatedAt.put(summary.getSlug(), summary.getUpdatedAt()));
+        next.posts.replaceAll((slug, entry) -> new ManifestEntry(entry.id(), updatedAt.get(slug), entry.sha256()));
+    }
+
+    private void writeManifest(Manifest next) throws IOException {
+        next.generatedAt = LocalDateTime.now();
+        byte[] json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(next);
+        atomicWrite(root.resolve(MANIFEST), json);
+    }
+
+    private Manifest loadManifest() throws IOException {
+        Path file = root.resolve(MANIFEST);
+        if (!Files.exists(file)) {
+            return new Manifest();
+        }
+        return objectMapper.readValue(file.toFile(), Manifest.class);
+    }
+
+    /**
+     * Writes the plain file and its gzip variant, gzip first so nginx gzip_static
+     * never serves a compressed body older than the plain one.
+     */
+    private void publish(Path target, byte[] json) throws IOException {
+        atomicWrite(gzipSibling(target), gzip(json));
+        atomicWrite(target, json);
+    }
+
+    private void atomicWrite(Path target, byte[] bytes) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+        try {
+            Files.write(tmp, bytes);
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private Path postFile(String slug) {
+        Path file = root.resolve("posts").resolve(slug + ".json").normalize();
+        if (!file.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid slug: " + slug);
+        }
+        return file;
+    }
+
+    private Path pageFile(int page) {
+        return root.resolve("posts").resolve("page").resolve(page + ".json");
+    }
+
+    private static Path gzipSibling(Path file) {
+        return file.resolveSibling(file.getFileName() + ".gz");
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static String hashOf(Path file) {
+        try {
+            return Files.exists(file) ? sha256(Files.readAllBytes(file)) : "";
+        } catch (IOException ex) {
+            return "";
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    static class Manifest {
+        public LocalDateTime generatedAt;
+        public Map<String, ManifestEntry> posts = new TreeMap<>();
+        public Map<Integer, String> pages = new TreeMap<>();
+
+        Manifest copy() {
+            Manifest copy = new Manifest();
+            copy.generatedAt = generatedAt;
+            copy.posts.putAll(posts);
+            copy.pages.putAll(pages);
+            return copy;
+        }
+    }
+
+    record ManifestEntry(Long id, LocalDateTime updatedAt, String sha256) {
+    }
+}
@@ -0,0 +1,275 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.dto.PostResponse;
+import com.novatech.blog.dto.SuggestResponse;
+import com.novatech.blog.dto.SuggestionResponse;
+import com.novatech.blog.entity.Category;
+import com.novatech.blog.entity.PostViewCount;
+import com.novatech.blog.entity.Tag;
+import com.novatech.blog.event.CacheInvalidationEvent;
+import com.novatech.blog.repository.CategoryRepository;
+import com.novatech.blog.repository.PostRepository;
+import com.novatech.blog.repository.PostViewCountRepository;
+import com.novatech.blog.repository.TagRepository;
+import com.novatech.blog.suggest.PrefixIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Typeahead suggestions for post titles, tags and categories, answered from in-memory
+ * {@link PrefixIndex}es without touching the database.
+ * <p>
+ * Titles are ranked by views, tags and categories by the number of posts using them. The
+ * indexes are built at startup and then kept current from the change log: a post write only
+ * re-indexes that post and the tags and categories it gained or lost. View counts are picked up
+ * from post_views every {@code refresh-interval-ms}.
+ */
+@Service
+@Slf4j
+public class SuggestService {
+
+    public static final Set<String> TYPES = Set.of("post", "tag", "category");
+
+    private final PostRepository postRepository;
+    private final TagRepository tagRepository;
+    private final CategoryRepository categoryRepository;
+    private final PostViewCountRepository postViewCountRepository;
+    private final int maxLimit;
+    private final long refreshIntervalMs;
+
+    private final PrefixIndex<Long> posts;
+    private final PrefixIndex<String> tags;
+    private final PrefixIndex<String> categories;
+
+    // Read side for slugs, values are immutable
+    private final Map<Long, PostRef> postRefs = new ConcurrentHashMap<>();
+
+    // Only mutated while holding the monitor
+    private final Map<String, Long> postsByTag = new HashMap<>();
+    private final Map<String, Long> postsByCategory = new HashMap<>();
+    private LocalDateTime viewsSeenUntil;
+
+    public SuggestService(
+            PostRepository postRepository,
+            TagRepository tagRepository,
+            CategoryRepository categoryRepository,
+            PostViewCountRepository postViewCountRepository,
+            @Value("${blog.suggest.max-limit:10}") int maxLimit,
+            @Value("${blog.suggest.refresh-interval-ms:60000}") long refreshIntervalMs
+    ) {
+        this.postRepository = postRepository;
+        this.tagRepository = tagRepository;
+        this.categoryRepository = categoryRepository;
+        this.postViewCountRepository = postViewCountRepository;
+        this.maxLimit = maxLimit;
+        this.refreshIntervalMs = refreshIntervalMs;
+        // Room for a title matching by both its text and its pinyin initials
+        this.posts = new PrefixIndex<>(maxLimit * 2);
+        this.tags = new PrefixIndex<>(maxLimit * 2);
+        this.categories = new PrefixIndex<>(maxLimit * 2);
+    }
+
+    public SuggestResponse suggest(String prefix, Set<String> types, int limit) {
+        Set<String> unknown = new HashSet<>(types);
+        unknown.removeAll(TYPES);
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown suggestion types " + unknown + ", expected any of " + TYPES);
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        return SuggestResponse.builder()
+                .prefix(prefix)
+                .posts(types.contains("post") ? postSuggestions(prefix, limit) : List.of())
+                .tags(types.contains("tag") ? nameSuggestions(tags, prefix, limit) : List.of())
+                .categories(types.contains("category") ? nameSuggestions(categories, prefix, limit) : List.of())
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        viewsSeenUntil = LocalDateTime.now();
+
+        Map<Long, Long> views = new HashMap<>();
+        for (PostViewCount count : postViewCountRepository.findAll()) {
+            views.put(count.getPostId(), count.getViews());
+        }
+        Map<Long, Set<String>> tagsByPost = new HashMap<>();
+        for (Object[] row : postRepository.findAllPostTagNames()) {
+            tagsByPost.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+
+        postRefs.clear();
+        postsByTag.clear();
+        postsByCategory.clear();
+        tagRepository.findAll().stream().map(Tag::getName).forEach(name -> postsByTag.put(name, 0L));
+        categoryRepository.findAll().stream().map(Category::getName).forEach(name -> postsByCategory.put(name, 0L));
+
+        List<PrefixIndex.Entry<Long>> postEntries = new ArrayList<>();
+        for (Object[] row : postRepository.findIdSlugTitleAndCategory()) {
+            Long id = (Long) row[0];
+            PostRef ref = new PostRef((String) row[1], (String) row[2], (String) row[3],
+                    Set.copyOf(tagsByPost.getOrDefault(id, Set.of())), views.getOrDefault(id, 0L));
+            postRefs.put(id, ref);
+            ref.tags().forEach(tag -> postsByTag.merge(tag, 1L, Long::sum));
+            if (ref.category() != null) {
+                postsByCategory.merge(ref.category(), 1L, Long::sum);
+            }
+            postEntries.add(new PrefixIndex.Entry<>(id, ref.title(), ref.views()));
+        }
+
+        posts.replaceAll(postEntries);
+        tags.replaceAll(nameEntries(postsByTag));
+        categories.replaceAll(nameEntries(postsByCategory));
+        log.info("Suggestion index built for {} posts, {} tags and {} categories in {} ms",
+                posts.size(), tags.size(), categories.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        switch (event.getEntityType()) {
+            case POST -> {
+                if (event.isDeleted()) {
+                    removePost(event.getEntityId());
+                } else {
+                    upsertPost(event.getPost());
+                }
+            }
+            case TAG -> addName(tags, postsByTag, event.getKey());
+            case CATEGORY -> addName(categories, postsByCategory, event.getKey());
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Re-ranks titles whose view count was flushed since the last run, by any instance.
+     */
+    @Scheduled(fixedDelayString = "${blog.suggest.refresh-interval-ms:60000}")
+    public synchronized void refreshViews() {
+        if (viewsSeenUntil == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Overlap one interval: a flush stamps its rows before it commits
+        List<PostViewCount> counts = postViewCountRepository.findByLastViewedAtAfter(
+                viewsSeenUntil.minusNanos(refreshIntervalMs * 1_000_000L));
+        viewsSeenUntil = now;
+        for (PostViewCount count : counts) {
+            PostRef ref = postRefs.get(count.getPostId());
+            if (ref != null && ref.views() != count.getViews()) {
+                PostRef updated = ref.withViews(count.getViews());
+                postRefs.put(count.getPostId(), updated);
+                posts.put(count.getPostId(), updated.title(), updated.views());
+            }
+        }
+    }
+
+    private synchronized void upsertPost(PostResponse post) {
+        PostRef old = postRefs.get(post.getId());
+        PostRef ref = new PostRef(post.getSlug(), post.getTitle(), post.getCategory(),
+                post.getTags() != null ? Set.copyOf(post.getTags()) : Set.of(), old != null ? old.views() : 0);
+        postRefs.put(post.getId(), ref);
+        posts.put(post.getId(), ref.title(), ref.views());
+        recount(old, ref);
+    }
+
+    private synchronized void removePost(Long postId) {
+        PostRef old = postRefs.remove(postId);
+        if (old != null) {
+            posts.remove(postId);
+            recount(old, null);
+        }
+    }
+
+    private synchronized void addName(PrefixIndex<String> index, Map<String, Long> counts, String name) {
+        if (name != null && counts.putIfAbsent(name, 0L) == null) {
+            index.put(name, name, 0);
+        }
+    }
+
+    // Only the tags and category that changed between the two versions are re-ranked
+    private void recount(PostRef old, PostRef current) {
+        Set<String> oldTags = old != null ? old.tags() : Set.of();
+        Set<String> newTags = current != null ? current.tags() : Set.of();
+        for (String tag : oldTags) {
+            if (!newTags.contains(tag)) {
+                adjust(tags, postsByTag, tag, -1);
+            }
+        }
+        for (String tag : newTags) {
+            if (!oldTags.contains(tag)) {
+                adjust(tags, postsByTag, tag, 1);
+            }
+        }
+        String oldCategory = old != null ? old.category() : null;
+        String newCategory = current != null ? current.category() : null;
+        if (!Objects.equals(oldCategory, newCategory)) {
+            adjust(categories, postsByCategory, oldCategory, -1);
+            adjust(categories, postsByCategory, newCategory, 1);
+        }
+    }
+
+    private static void adjust(PrefixIndex<String> index, Map<String, Long> counts, String name, long delta) {
+        if (name == null) {
+            return;
+        }
+        // Tags and categories outlive their last post, so they stay suggestible at 0
+        long count = Math.max(0, counts.getOrDefault(name, 0L) + delta);
+        counts.put(name, count);
+        index.put(name, name, count);
+    }
+
+    private List<SuggestionResponse> postSuggestions(String prefix, int limit) {
+        List<SuggestionResponse> result = new ArrayList<>();
+        for (PrefixIndex.Entry<Long> entry : posts.search(prefix, limit)) {
+            PostRef ref = postRefs.get(entry.id());
+            if (ref != null) {
+                result.add(SuggestionResponse.builder()
+                        .text(entry.text())
+                        .slug(ref.slug())
+                        .score(entry.score())
+                        .build());
+            }
+        }
+        return result;
+    }
+
+    private static List<SuggestionResponse> nameSuggestions(PrefixIndex<String> index, String prefix, int limit) {
+        return index.search(prefix, limit).stream()
+                .map(entry -> SuggestionResponse.builder()
+                        .text(entry.text())
+                        .score(entry.score())
+                        .build())
+                .toList();
+    }
+
+    private static Collection<PrefixIndex.Entry<String>> nameEntries(Map<String, Long> counts) {
+        return counts.entrySet().stream()
+                .map(entry -> new PrefixIndex.Entry<>(entry.getKey(), entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private record PostRef(String slug, String title, String category, Set<String> tags, long views) {
+
+        PostRef withViews(long newViews) {
+            return new PostRef(slug, title, category, tags, newViews);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.novatech.blog.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Block-matching delta between two texts, in the style of rsync: the base is indexed by the
+ * hash of every aligned block, the target is scanned with a rolling hash, and each verified hit
+ * is extended in both directions. The result is a list of copy-from-base and insert-literal
+ * operations, deflated. Small edits to a long HTML body come out at a few dozen bytes.
+ */
+final class TextDelta {
+
+    private static final int BLOCK = 16;
+    private static final int PRIME = 31;
+    private static final int POWER = pow(PRIME, BLOCK - 1);
+
+    private static final byte COPY = 0;
+    private static final byte INSERT = 1;
+
+    private TextDelta() {
+    }
+
+    static byte[] diff(String base, String target) {
+        Map<Integer, Integer> blocks = new HashMap<>();
+        for (int i = 0; i + BLOCK <= base.length(); i += BLOCK) {
+            blocks.putIfAbsent(hash(base, i), i);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(base.length());
+            int literalStart = 0;
+            int i = 0;
+            int h = target.length() >= BLOCK ? hash(target, 0) : 0;
+            while (i + BLOCK <= target.length()) {
+                Integer at = blocks.get(h);
+                if (at != null && base.regionMatches(at, target, i, BLOCK)) {
+                    int start = i;
+                    int from = at;
+                    while (start > literalStart && from > 0 && target.charAt(start - 1) == base.charAt(from - 1)) {
+                        start--;
+                        from--;
+                    }
+                    int end = i + BLOCK;
+                    int baseEnd = at + BLOCK;
+                    while (end < target.length() && baseEnd < base.length() && target.charAt(end) == base.charAt(baseEnd)) {
+                        end++;
+                        baseEnd++;
+                    }
+                    writeInsert(out, target, literalStart, start);
+                    out.writeByte(COPY);
+                    out.writeInt(from);
+                    out.writeInt(end - start);
+                    literalStart = end;
+                    i = end;
+                    if (i + BLOCK <= target.length()) {
+                        h = hash(target, i);
+                    }
+                    continue;
+                }
+                if (i + BLOCK < target.length()) {
+                    h = (h - target.charAt(i) * POWER) * PRIME + target.charAt(i + BLOCK);
+                }
+                i++;
+            }
+            writeInsert(out, target, literalStart, target.length());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return deflate(bytes.toByteArray());
+    }
+
+    static String apply(String base, byte[] delta) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(inflate(delta)))) {
+            if (in.readInt() != base.length()) {
+                throw new IllegalStateException("Delta was computed against a different base");
+            }
+            StringBuilder result = new StringBuilder(base.length());
+            while (in.available() > 0) {
+                byte op = in.readByte();
+                if (op == COPY) {
+                    int from = in.readInt();
+                    result.append(base, from, from + in.readInt());
+                } else {
+                    for (int n = in.readInt(); n > 0; n--) {
+                        result.append(in.readChar());
+                    }
+                }
+            }
+            return result.toString();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static byte[] compress(String text) {
+        return deflate(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decompress(byte[] data) {
+        return new String(inflate(data), StandardCharsets.UTF_8);
+    }
+
+    private static void writeInsert(DataOutputStream out, String target, int from, int to) throws IOException {
+        if (from < to) {
+            // Written as UTF-16 units: a copy boundary may fall inside a surrogate pair, which UTF-8 cannot hold
+            out.writeByte(INSERT);
+            out.writeInt(to - from);
+            out.writeChars(target.substring(from, to));
+        }
+    }
+
+    private static int hash(String text, int from) {
+        int h = 0;
+        for (int i = from; i < from + BLOCK; i++) {
+            h = h * PRIME + text.charAt(i);
+        }
+        return h;
+    }
+
+    private static int pow(int base, int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated revision data");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt revision data", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.cache.BloomFilter;
+import com.novatech.blog.entity.RevokedToken;
+import com.novatech.blog.event.CacheInvalidationEvent;
+import com.novatech.blog.event.CacheInvalidationEvent.EntityType;
+import com.novatech.blog.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked JWT ids, checked on every authenticated request.
+ * <p>
+ * A Bloom filter sits in front of the exact set: almost every token was never revoked, and for
+ * those the check is a few hash probes with no map lookup and no database access. Revocations
+ * are persisted and spread to other instances through the change log; both the table and the
+ * in-memory set forget an entry once the token would have expired anyway. Bloom filters
+ * cannot delete, so the filter is rebuilt from the exact set after each purge.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ChangeLogService changeLogService;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+
+    // jti -> expiry; writes and filter rebuilds are guarded by this, reads are lock-free
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            ChangeLogService changeLogService,
+            @Value("${blog.auth.revocation.expected-revocations:10000}") int expectedRevocations,
+            @Value("${blog.auth.revocation.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.changeLogService = changeLogService;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(expectedRevocations, falsePositiveRate);
+    }
+
+    // Loaded before the first request rather than on ApplicationReadyEvent, so there is no window
+    // in which a revoked token is accepted
+    @PostConstruct
+    public void load() {
+        revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now())
+                .forEach(token -> remember(token.getJti(), token.getExpiresAt()));
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    @Transactional
+    public void revoke(String jti, LocalDateTime expiresAt, Long userId) {
+        if (!expiresAt.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder().jti(jti).expiresAt(expiresAt).build());
+        changeLogService.append(EntityType.TOKEN, userId, jti, false);
+        remember(jti, expiresAt);
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (event.getEntityType() == EntityType.TOKEN && !revoked.containsKey(event.getKey())) {
+            revokedTokenRepository.findById(event.getKey())
+                    .ifPresent(token -> remember(token.getJti(), token.getExpiresAt()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.auth.revocation.purge-interval-ms:600000}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int before = revoked.size();
+        synchronized (this) {
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            if (revoked.size() != before) {
+                BloomFilter next = BloomFilter.create(Math.max(expectedRevocations, revoked.size() * 2), falsePositiveRate);
+                revoked.keySet().forEach(next::put);
+                filter = next;
+            }
+        }
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        log.debug("Purged {} expired revocations from memory, {} from the database", before - revoked.size(), deleted);
+    }
+
+    private synchronized void remember(String jti, LocalDateTime expiresAt) {
+        revoked.put(jti, expiresAt);
+        filter.put(jti);
+    }
+}
@@ -0,0 +1,262 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.dto.PostResponse;
+import com.novatech.blog.dto.TrendingPostResponse;
+import com.novatech.blog.entity.PostViewCount;
+import com.novatech.blog.event.CacheInvalidationEvent;
+import com.novatech.blog.repository.PostRepository;
+import com.novatech.blog.repository.PostViewCountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks posts by exponentially time-decayed reads.
+ * <p>
+ * Decay is applied lazily: every read adds {@code e^(λ·(t - epoch))} to the post's score,
+ * so scores only grow and their order is the same as the decayed order at any instant.
+ * The real decayed value is recovered on read by multiplying with {@code e^(-λ·(now - epoch))}.
+ * The top entries are kept in a small copy-on-write leaderboard updated with CAS, so the
+ * common case of a read on a non-trending post is a single comparison.
+ */
+@Service
+@Slf4j
+public class TrendingService {
+
+    // Rebase before e^x gets anywhere near double overflow (~e^709)
+    private static final double MAX_EXPONENT = 300;
+
+    private final PostRepository postRepository;
+    private final PostViewCountRepository postViewCountRepository;
+    private final double lambdaPerMs;
+    private final int capacity;
+
+    private final Map<Long, PostRef> posts = new ConcurrentHashMap<>();
+    private final AtomicReference<State> state = new AtomicReference<>();
+
+    public TrendingService(
+            PostRepository postRepository,
+            PostViewCountRepository postViewCountRepository,
+            @Value("${blog.trending.half-life-hours:24}") double halfLifeHours,
+            @Value("${blog.trending.capacity:50}") int capacity
+    ) {
+        this.postRepository = postRepository;
+        this.postViewCountRepository = postViewCountRepository;
+        this.lambdaPerMs = Math.log(2) / (halfLifeHours * 3_600_000d);
+        this.capacity = capacity;
+        this.state.set(new State(System.currentTimeMillis()));
+    }
+
+    public void recordView(PostResponse post) {
+        posts.putIfAbsent(post.getId(), new PostRef(post.getSlug(), post.getTitle()));
+        addScore(post.getId(), 1.0, System.currentTimeMillis());
+    }
+
+    public List<TrendingPostResponse> getTrending(int limit) {
+        State current = state.get();
+        double decay = Math.exp(-lambdaPerMs * (System.currentTimeMillis() - current.epoch));
+        List<TrendingPostResponse> result = new ArrayList<>();
+        for (Entry entry : current.leaderboard.get()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            PostRef ref = posts.get(entry.postId);
+            if (ref != null) {
+                result.add(TrendingPostResponse.builder()
+                        .id(entry.postId)
+                        .slug(ref.slug)
+                        .title(ref.title)
+                        .score(entry.score * decay)
+                        .build());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Seeds the ranking from post_views after a restart. Only lifetime totals are persisted, so
+     * each post's views are assumed to be spread evenly from publication to its last view, and
+     * only the decayed share of them is counted: an old post with many views over the years
+     * starts with what its recent reading rate is worth, not with all-time popularity.
+     * <p>
+     * The seed is added to the live scores rather than replacing them: the app takes traffic
+     * before it is ready, and views recorded meanwhile must not be lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<PostViewCount> counts = postViewCountRepository.findAll();
+        if (counts.isEmpty()) {
+            return;
+        }
+        Map<Long, PostRef> refs = new HashMap<>();
+        Map<Long, LocalDateTime> publishedAt = new HashMap<>();
+        for (Object[] row : postRepository.findSlugTitleAndCreatedAtByIdIn(
+                counts.stream().map(PostViewCount::getPostId).collect(Collectors.toList()))) {
+            refs.put((Long) row[0], new PostRef((String) row[1], (String) row[2]));
+            publishedAt.put((Long) row[0], (LocalDateTime) row[3]);
+        }
+
+        for (PostViewCount count : counts) {
+            PostRef ref = refs.get(count.getPostId());
+            if (ref == null || count.getLastViewedAt() == null) {
+                continue;
+            }
+            posts.putIfAbsent(count.getPostId(), ref);
+            long viewedAt = toEpochMilli(count.getLastViewedAt());
+            LocalDateTime published = publishedAt.get(count.getPostId());
+            long since = published != null ? Math.min(toEpochMilli(published), viewedAt) : viewedAt;
+            addScore(count.getPostId(), decayedShare(count.getViews(), viewedAt - since), viewedAt);
+        }
+        log.info("Trending ranking rebuilt from {} persisted view counts", counts.size());
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (!event.isPost()) {
+            return;
+        }
+        if (!event.isDeleted()) {
+            posts.computeIfPresent(event.getEntityId(),
+                    (id, ref) -> new PostRef(event.getKey(), event.getPost().getTitle()));
+            return;
+        }
+        posts.remove(event.getEntityId());
+        State current = state.get();
+        current.scores.remove(event.getEntityId());
+        current.leaderboard.updateAndGet(board -> Arrays.stream(board)
+                .filter(entry -> entry.postId != event.getEntityId())
+                .toArray(Entry[]::new));
+    }
+
+    /**
+     * The decayed value at the end of {@code spanMs} of {@code views} read at an even rate over it:
+     * {@code views · (1 - e^(-λ·span)) / (λ·span)}. All of them for a short span; for a long
+     * one, about as many as were read in its last {@code 1/λ} milliseconds.
+     */
+    private double decayedShare(long views, long spanMs) {
+        double x = lambdaPerMs * spanMs;
+        return x < 1e-9 ? views : views * -Math.expm1(-x) / x;
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void addScore(Long postId, double views, long timestamp) {
+        State current = state.get();
+        double exponent = lambdaPerMs * (timestamp - current.epoch);
+        if (exponent > MAX_EXPONENT) {
+            current = rebase(current, timestamp);
+            exponent = lambdaPerMs * (timestamp - current.epoch);
+        }
+        DoubleAdder score = current.scores.get(postId);
+        if (score == null) {
+            score = current.scores.computeIfAbsent(postId, id -> new DoubleAdder());
+        }
+        score.add(views * Math.exp(exponent));
+        offer(current, postId, score.sum());
+    }
+
+    private void offer(State current, long postId, double score) {
+        while (true) {
+            Entry[] board = current.leaderboard.get();
+            int index = indexOf(board, postId);
+            if (index < 0 && board.length >= capacity && score <= board[board.length - 1].score) {
+                return;
+            }
+            if (index >= 0 && board[index].score >= score) {
+                return;
+            }
+
+            Entry[] next = new Entry[index >= 0 ? board.length : Math.min(board.length + 1, capacity)];
+            int n = 0;
+            boolean inserted = false;
+            for (Entry entry : board) {
+                if (entry.postId == postId) {
+                    continue;
+                }
+                if (!inserted && score > entry.score) {
+                    next[n++] = new Entry(postId, score);
+                    inserted = true;
+                    if (n == next.length) {
+                        break;
+                    }
+                }
+                next[n++] = entry;
+                if (n == next.length) {
+                    break;
+                }
+            }
+            if (!inserted && n < next.length) {
+                next[n++] = new Entry(postId, score);
+            }
+            if (current.leaderboard.compareAndSet(board, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Moves the reference time forward and rescales all scores. Only needed every few
+     * hundred half-lives; reads racing with the swap may be dropped.
+     */
+    private synchronized State rebase(State current, long timestamp) {
+        if (state.get() != current) {
+            return state.get();
+        }
+        State next = new State(timestamp);
+        double factor = Math.exp(-lambdaPerMs * (timestamp - current.epoch));
+        current.scores.forEach((id, score) -> {
+            DoubleAdder scaled = new DoubleAdder();
+            scaled.add(score.sum() * factor);
+            next.scores.put(id, scaled);
+        });
+        next.leaderboard.set(Arrays.stream(current.leaderboard.get())
+                .map(entry -> new Entry(entry.postId, entry.score * factor))
+                .sorted(Comparator.comparingDouble((Entry entry) -> entry.score).reversed())
+                .toArray(Entry[]::new));
+        state.set(next);
+        log.info("Trending scores rebased to new epoch");
+        return next;
+    }
+
+    private static int indexOf(Entry[] board, long postId) {
+        for (int i = 0; i < board.length; i++) {
+            if (board[i].postId == postId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class State {
+        private final long epoch;
+        private final Map<Long, DoubleAdder> scores = new ConcurrentHashMap<>();
+        private final AtomicReference<Entry[]> leaderboard = new AtomicReference<>(new Entry[0]);
+
+        private State(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    private record Entry(long postId, double score) {
+    }
+
+    private record PostRef(String slug, String title) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.novatech.blog.service;
+
+import com.novatech.blog.dto.PostViewsResponse;
+import com.novatech.blog.entity.Post;
+import com.novatech.blog.entity.PostViewCount;
+import com.novatech.blog.event.CacheInvalidationEvent;
+import com.novatech.blog.event.PostChangedEvent;
+import com.novatech.blog.repository.PostRepository;
+import com.novatech.blog.repository.PostViewCountRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts post views in striped in-memory counters and flushes the deltas periodically
+ * as one batched upsert into post_views, so hot posts never contend on a row lock.
+ * A crash loses at most one flush interval; a graceful shutdown loses nothing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCounterService {
+
+    private static final String UPDATE_SQL =
+            "UPDATE post_views SET views = views + ?, last_viewed_at = ? WHERE post_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO post_views (post_id, views, last_viewed_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PostRepository postRepository;
+    private final PostViewCountRepository postViewCountRepository;
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public void recordView(Long postId) {
+        LongAdder counter = pending.get(postId);
+        if (counter == null) {
+            counter = pending.computeIfAbsent(postId, id -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    public long getViews(Long postId) {
+        long persisted = postViewCountRepository.findById(postId)
+                .map(PostViewCount::getViews)
+                .orElse(0L);
+        LongAdder counter = pending.get(postId);
+        return persisted + (counter != null ? counter.sum() : 0);
+    }
+
+    public PostViewsResponse getViewsBySlug(String slug) {
+        Post post = postRepository.findBySlug(slug)
+                .orElseThrow(() -> new RuntimeException("Post not found with slug: " + slug));
+        return PostViewsResponse.builder()
+                .slug(slug)
+                .views(getViews(post.getId()))
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${blog.views.flush-interval-ms:5000}")
+    public void flush() {
+        List<Object[]> deltas = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.add(new Object[]{delta, now, entry.getKey()});
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> upsert(deltas));
+            log.debug("Flushed view counts for {} posts", deltas.size());
+        } catch (RuntimeException ex) {
+            // Put the deltas back so the next flush retries them
+            for (Object[] row : deltas) {
+                recordViews((Long) row[2], (Long) row[0]);
+            }
+            log.warn("Failed to flush view counts, will retry: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.DELETED) {
+            jdbcTemplate.update("DELETE FROM post_views WHERE post_id = ?", event.getPostId());
+        }
+    }
+
+    // Every instance drops its own unflushed views, the row itself is deleted once above
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (event.isPost() && event.isDeleted()) {
+            pending.remove(event.getEntityId());
+        }
+    }
+
+    private void upsert(List<Object[]> deltas) {
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, deltas);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Object[] row = deltas.get(i);
+                missing.add(new Object[]{row[2], row[0], row[1]});
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, missing);
+        }
+    }
+
+    private void recordViews(Long postId, long count) {
+        pending.computeIfAbsent(postId, id -> new LongAdder()).add(count);
+    }
+}
@@ -0,0 +1,229 @@
+package com.novatech.blog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novatech.blog.controller.PostController;
+import com.novatech.blog.dto.PostFilter;
+import com.novatech.blog.dto.PostResponse;
+import com.novatech.blog.dto.PostSummaryResponse;
+import com.novatech.blog.entity.Role;
+import com.novatech.blog.entity.User;
+import com.novatech.blog.repository.PostRepository;
+import com.novatech.blog.repository.PostViewCountRepository;
+import com.novatech.blog.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a fresh instance out of the load balancer until it is warm.
+ * <p>
+ * When Spring Boot first reports the instance ready, readiness is flipped back to
+ * REFUSING_TRAFFIC and a background thread takes over. It first primes the read cache with
+ * the most-read posts, the post list, categories and tags. Then it runs rounds of synthetic
+ * calls through the PostController read endpoints, Jackson serialization and JWT
+ * issue/validate/revocation checks. It stops once the JIT spends less than
+ * {@code settle-compile-ms} compiling during two rounds in a row, or after
+ * {@code max-duration-ms}. Only then is the instance marked ACCEPTING_TRAFFIC. Synthetic
+ * calls never count views.
+ */
+@Service
+@Slf4j
+public class WarmupService {
+
+    private final PostController postController;
+    private final PostService postService;
+    private final PostRepository postRepository;
+    private final PostViewCountRepository postViewCountRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int topPosts;
+    private final int samplePosts;
+    private final int passesPerRound;
+    private final int minRounds;
+    private final long settleCompileMillis;
+    private final long maxDurationNanos;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    public WarmupService(
+            PostController postController,
+            PostService postService,
+            PostRepository postRepository,
+            PostViewCountRepository postViewCountRepository,
+            TokenRevocationService tokenRevocationService,
+            JwtUtil jwtUtil,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${blog.warmup.enabled:true}") boolean enabled,
+            @Value("${blog.warmup.top-posts:100}") int topPosts,
+            @Value("${blog.warmup.sample-posts:20}") int samplePosts,
+            @Value("${blog.warmup.passes-per-round:50}") int passesPerRound,
+            @Value("${blog.warmup.min-rounds:3}") int minRounds,
+            @Value("${blog.warmup.settle-compile-ms:10}") long settleCompileMillis,
+            @Value("${blog.warmup.max-duration-ms:60000}") long maxDurationMillis
+    ) {
+        this.postController = postController;
+        this.postService = postService;
+        this.postRepository = postRepository;
+        this.postViewCountRepository = postViewCountRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.topPosts = topPosts;
+        this.samplePosts = samplePosts;
+        this.passesPerRound = passesPerRound;
+        this.minRounds = minRounds;
+        this.settleCompileMillis = settleCompileMillis;
+        this.maxDurationNanos = TimeUnit.MILLISECONDS.toNanos(maxDurationMillis);
+    }
+
+    // Boot reports readiness once every ApplicationReadyEvent listener (index builds etc.) has run
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        if (!enabled || event.getState() != ReadinessState.ACCEPTING_TRAFFIC || !started.compareAndSet(false, true)) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        Thread thread = new Thread(this::warmUp, "warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        long start = System.nanoTime();
+        try {
+            List<String> slugs = prime();
+            long primed = System.nanoTime();
+            exercise(slugs, start);
+            log.info("Warm-up finished in {} ms (priming {} ms)",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    TimeUnit.NANOSECONDS.toMillis(primed - start));
+        } catch (RuntimeException ex) {
+            // A cold instance still beats one that never becomes ready
+            log.warn("Warm-up aborted after {} ms, accepting traffic anyway: {}",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), ex.getMessage());
+        } finally {
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    /**
+     * Loads the most-read posts, topped up with the newest ones, plus the post list,
+     * categories and tags into the read cache. Returns the primed slugs, most-read first.
+     */
+    private List<String> prime() {
+        List<Long> ids = postViewCountRepository.findMostViewedPostIds(PageRequest.of(0, topPosts));
+        Set<String> slugs = new LinkedHashSet<>();
+        if (!ids.isEmpty()) {
+            postRepository.findIdAndSlugByIdIn(ids).stream()
+                    .sorted((a, b) -> Integer.compare(ids.indexOf((Long) a[0]), ids.indexOf((Long) b[0])))
+                    .forEach(row -> slugs.add((String) row[1]));
+        }
+        if (slugs.size() < topPosts) {
+            for (PostSummaryResponse summary : postService.getRecentPostSummaries(topPosts)) {
+                if (slugs.size() >= topPosts) {
+                    break;
+                }
+                slugs.add(summary.getSlug());
+            }
+        }
+        slugs.forEach(postService::findPostBySlug);
+        int posts = postService.getAllPosts().size();
+        int categories = postService.getCategories().size();
+        int tags = postService.getTags().size();
+        log.info("Warm-up primed {} posts ({} by views), list of {} posts, {} categories, {} tags",
+                slugs.size(), ids.size(), posts, categories, tags);
+        return new ArrayList<>(slugs);
+    }
+
+    private void exercise(List<String> slugs, long start) {
+        List<String> sample = slugs.subList(0, Math.min(samplePosts, slugs.size()));
+        List<String> categories = postService.getCategories();
+        PostFilter listFilter = PostFilter.builder()
+                .category(categories.isEmpty() ? null : categories.get(0))
+                .size(20)
+                .build();
+        User user = User.builder().id(0L).username("warmup").password("").role(Role.VISITOR).build();
+
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean compileTimeKnown = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        long compileBefore = compileTimeKnown ? compiler.getTotalCompilationTime() : 0;
+
+        List<Long> roundNanos = new ArrayList<>();
+        long compileAtRoundStart = compileBefore;
+        int quietRounds = 0;
+        while (System.nanoTime() - start < maxDurationNanos) {
+            long roundStart = System.nanoTime();
+            postController.getAllPosts(new PostFilter());
+            for (int pass = 0; pass < passesPerRound; pass++) {
+                runPass(sample, listFilter, user);
+            }
+            roundNanos.add(System.nanoTime() - roundStart);
+
+            if (!compileTimeKnown) {
+                if (roundNanos.size() >= minRounds) {
+                    break;
+                }
+                continue;
+            }
+            long compileNow = compiler.getTotalCompilationTime();
+            quietRounds = compileNow - compileAtRoundStart < settleCompileMillis ? quietRounds + 1 : 0;
+            compileAtRoundStart = compileNow;
+            if (roundNanos.size() >= minRounds && quietRounds >= 2) {
+                break;
+            }
+        }
+
+        long first = roundNanos.get(0);
+        long last = roundNanos.get(roundNanos.size() - 1);
+        log.info("Warm-up ran {} rounds of {} passes: first round {} ms, last round {} ms ({}x faster), "
+                        + "JIT compile time {} ms, settled: {}",
+                roundNanos.size(), passesPerRound,
+                TimeUnit.NANOSECONDS.toMillis(first), TimeUnit.NANOSECONDS.toMillis(last),
+                String.format("%.1f", (double) first / Math.max(1, last)),
+                compileTimeKnown ? compiler.getTotalCompilationTime() - compileBefore : -1,
+                quietRounds >= 2);
+    }
+
+    private void runPass(List<String> slugs, PostFilter listFilter, User user) {
+        try {
+            for (String slug : slugs) {
+                PostResponse post = postService.findPostBySlug(slug);
+                objectMapper.writeValueAsBytes(post);
+                objectMapper.writeValueAsBytes(postController.getRelatedPosts(slug, 5).getBody());
+            }
+            objectMapper.writeValueAsBytes(postController.getTrendingPosts(10).getBody());
+            if (listFilter.getCategory() != null) {
+                objectMapper.writeValueAsBytes(postController.getAllPosts(listFilter).getBody());
+            }
+            objectMapper.writeValueAsBytes(postService.getCategories());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        Claims claims = jwtUtil.extractAllClaims(jwtUtil.generateToken(user));
+        if (!jwtUtil.isTokenValid(claims, user) || tokenRevocationService.isRevoked(claims.getId())) {
+            throw new IllegalStateException("Synthetic token did not validate");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.novatech.blog.suggest;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+
+/**
+ * Pinyin initials of Chinese text, e.g. 性能优化 becomes {@code xnyh}.
+ * <p>
+ * The 3755 level-1 characters of GB2312 (the commonly used ones) are ordered by pinyin, so the
+ * initial follows from where a character's GB2312 code falls between the first codes of each
+ * letter. Level-2 and other characters have no initial and are kept as they are; characters with
+ * several readings get the one they are sorted by.
+ */
+public final class PinyinInitials {
+
+    private static final char FIRST_HAN = '\u4E00';
+    private static final char LAST_HAN = '\u9FFF';
+
+    // First GB2312 code of each initial, with the end of level 1 last
+    private static final int[] BOUNDARIES = {
+            0xB0A1, 0xB0C5, 0xB2C1, 0xB4EE, 0xB6EA, 0xB7A2, 0xB8C1, 0xB9FE, 0xBBF7, 0xBFA6, 0xC0AC, 0xC2E8,
+            0xC4C3, 0xC5B6, 0xC5BE, 0xC6DA, 0xC8BB, 0xC8F6, 0xCBFA, 0xCDDA, 0xCEF4, 0xD1B9, 0xD4D1, 0xD7FA};
+    private static final char[] LETTERS = "abcdefghjklmnopqrstwxyz".toCharArray();
+
+    // Initial of every CJK unified ideograph, 0 where there is none
+    private static final char[] INITIALS = buildTable();
+
+    private PinyinInitials() {
+    }
+
+    public static boolean isHan(char c) {
+        return c >= FIRST_HAN && c <= LAST_HAN;
+    }
+
+    /**
+     * Replaces every character with a known initial by that initial and drops whitespace, so
+     * {@code spring 性能} becomes {@code springxn}. Other characters are kept.
+     */
+    public static String of(String text) {
+        StringBuilder initials = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            char initial = isHan(c) ? INITIALS[c - FIRST_HAN] : 0;
+            initials.append(initial != 0 ? initial : c);
+        }
+        return initials.toString();
+    }
+
+    private static char[] buildTable() {
+        char[] table = new char[LAST_HAN - FIRST_HAN + 1];
+        if (!Charset.isSupported("GB2312")) {
+            return table;
+        }
+        CharsetEncoder encoder = Charset.forName("GB2312").newEncoder();
+        CharBuffer in = CharBuffer.allocate(1);
+        for (char c = FIRST_HAN; c <= LAST_HAN; c++) {
+            in.clear();
+            in.put(c).flip();
+            try {
+                ByteBuffer out = encoder.encode(in);
+                if (out.remaining() == 2) {
+                    table[c - FIRST_HAN] = initialOf(((out.get(0) & 0xFF) << 8) | (out.get(1) & 0xFF));
+                }
+            } catch (CharacterCodingException ex) {
+                // Not in GB2312
+            }
+        }
+        return table;
+    }
+
+    private static char initialOf(int code) {
+        for (int i = LETTERS.length - 1; i >= 0; i--) {
+            if (code >= BOUNDARIES[i]) {
+                return code < BOUNDARIES[BOUNDARIES.length - 1] ? LETTERS[i] : 0;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,362 @@
+package com.novatech.blog.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over short texts such as titles, tag and category names, ranked by score.
+ * <p>
+ * A radix trie in which every node keeps the best {@code capacity} entries below it, so a lookup
+ * walks one node per matched edge and returns a list that is already ranked. A text is indexed
+ * by its normalized form and, if it contains Chinese, by its {@link PinyinInitials} too. Nodes
+ * are immutable: a write copies the path from the root to the changed key and publishes the new
+ * root, so writes are serialized while reads never lock and always see one consistent version.
+ */
+public final class PrefixIndex<K> {
+
+    /** Keys are cut to this many characters; nobody types that far before picking a suggestion. */
+    static final int MAX_KEY_LENGTH = 64;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Comparator<Entry<?>> BEST_FIRST = Comparator
+            .comparingLong((Entry<?> entry) -> entry.score()).reversed()
+            .thenComparing(Entry::text);
+
+    public record Entry<K>(K id, String text, long score) {
+    }
+
+    private final int capacity;
+
+    // Guarded by this
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+
+    private volatile Node<K> root = new Node<>("", noNodes(), empty(), empty());
+
+    public PrefixIndex(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Up to {@code limit} entries with a key starting with {@code prefix}, best first.
+     * {@code limit} is capped at the capacity.
+     */
+    public List<Entry<K>> search(String prefix, int limit) {
+        String key = truncate(normalize(prefix));
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Node<K> node = root;
+        int depth = 0;
+        while (depth < key.length()) {
+            int i = indexOf(node.children, key.charAt(depth));
+            if (i < 0) {
+                return List.of();
+            }
+            Node<K> child = node.children[i];
+            int common = commonPrefix(child.label, key, depth);
+            if (common < child.label.length() && depth + common < key.length()) {
+                return List.of();
+            }
+            node = child;
+            depth += common;
+        }
+        // Text and initials of the same entry can both match
+        List<Entry<K>> result = new ArrayList<>(Math.min(limit, node.top.length));
+        for (Entry<K> entry : node.top) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (!result.contains(entry)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Adds the entry, or replaces the one with the same id.
+     */
+    public synchronized void put(K id, String text, long score) {
+        Entry<K> entry = new Entry<>(id, text, score);
+        Entry<K> old = entries.put(id, entry);
+        if (entry.equals(old)) {
+            return;
+        }
+        Node<K> next = root;
+        if (old != null) {
+            for (String key : keysOf(old.text())) {
+                next = remove(next, key, 0, old);
+            }
+        }
+        for (String key : keysOf(text)) {
+            next = insert(next, key, 0, entry);
+        }
+        root = next;
+    }
+
+    public synchronized void remove(K id) {
+        Entry<K> old = entries.remove(id);
+        if (old == null) {
+            return;
+        }
+        Node<K> next = root;
+        for (String key : keysOf(old.text())) {
+            next = remove(next, key, 0, old);
+        }
+        root = next;
+    }
+
+    /**
+     * Replaces the whole content, building the trie bottom-up from the sorted keys instead of
+     * copying a path per entry.
+     */
+    public synchronized void replaceAll(Collection<Entry<K>> all) {
+        entries.clear();
+        all.forEach(entry -> entries.put(entry.id(), entry));
+        List<Keyed<K>> keyed = new ArrayList<>();
+        for (Entry<K> entry : entries.values()) {
+            for (String key : keysOf(entry.text())) {
+                keyed.add(new Keyed<>(key, entry));
+            }
+        }
+        keyed.sort(Comparator.comparing(Keyed::key));
+        root = build(keyed, 0, keyed.size(), 0, "");
+    }
+
+    static List<String> keysOf(String text) {
+        String normalized = normalize(text);
+        String key = truncate(normalized);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        if (normalized.chars().noneMatch(c -> PinyinInitials.isHan((char) c))) {
+            return List.of(key);
+        }
+        String initials = truncate(PinyinInitials.of(normalized));
+        return initials.equals(key) ? List.of(key) : List.of(key, initials);
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : WHITESPACE.matcher(text.strip().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private Node<K> build(List<Keyed<K>> keyed, int from, int to, int depth, String label) {
+        List<Entry<K>> here = new ArrayList<>();
+        int i = from;
+        while (i < to && keyed.get(i).key().length() == depth) {
+            here.add(keyed.get(i++).entry());
+        }
+        List<Node<K>> children = new ArrayList<>();
+        while (i < to) {
+            char c = keyed.get(i).key().charAt(depth);
+            int j = i + 1;
+            while (j < to && keyed.get(j).key().charAt(depth) == c) {
+                j++;
+            }
+            // Sorted keys: what the first and last of a group share, they all share
+            String first = keyed.get(i).key();
+            String last = keyed.get(j - 1).key();
+            int end = depth + 1;
+            while (end < first.length() && end < last.length() && first.charAt(end) == last.charAt(end)) {
+                end++;
+            }
+            children.add(build(keyed, i, j, end, first.substring(depth, end)));
+            i = j;
+        }
+        here.sort(BEST_FIRST);
+        Entry<K>[] entriesHere = here.toArray(empty());
+        Node<K>[] childNodes = children.toArray(noNodes());
+        return node(label, childNodes, entriesHere, best(entriesHere, childNodes));
+    }
+
+    private Node<K> insert(Node<K> node, String key, int depth, Entry<K> entry) {
+        Entry<K>[] top = insertSorted(node.top, entry, capacity);
+        if (depth == key.length()) {
+            return node(node.label, node.children, insertSorted(node.entries, entry, Integer.MAX_VALUE), top);
+        }
+        int i = indexOf(node.children, key.charAt(depth));
+        if (i < 0) {
+            Entry<K>[] single = insertSorted(empty(), entry, 1);
+            Node<K> leaf = new Node<>(key.substring(depth), noNodes(), single, single);
+            return node(node.label, withChild(node.children, -i - 1, leaf), node.entries, top);
+        }
+        Node<K> child = node.children[i];
+        int common = commonPrefix(child.label, key, depth);
+        if (common < child.label.length()) {
+            // The key leaves this edge half way: split it
+            Node<K> tail = child.relabel(child.label.substring(common));
+            Node<K>[] only = withChild(noNodes(), 0, tail);
+            child = new Node<>(child.label.substring(0, common), only, empty(), child.top);
+        }
+        Node<K>[] children = node.children.clone();
+        children[i] = insert(child, key, depth + common, entry);
+        return node(node.label, children, node.entries, top);
+    }
+
+    /**
+     * The node without the entry under this key, or null if nothing is left below it.
+     */
+    private Node<K> remove(Node<K> node, String key, int depth, Entry<K> entry) {
+        Node<K>[] children = node.children;
+        Entry<K>[] entriesHere = node.entries;
+        if (depth == key.length()) {
+            entriesHere = without(entriesHere, entry);
+        } else {
+            int i = indexOf(children, key.charAt(depth));
+            if (i < 0 || !key.startsWith(children[i].label, depth)) {
+                return node;
+            }
+            Node<K> child = children[i];
+            Node<K> next = remove(child, key, depth + child.label.length(), entry);
+            if (next == child) {
+                return node;
+            }
+            if (next == null) {
+                children = withoutChild(children, i);
+            } else {
+                children = children.clone();
+                children[i] = next;
+            }
+        }
+        if (entriesHere == node.entries && children == node.children) {
+            return node;
+        }
+        boolean isRoot = node.label.isEmpty();
+        if (!isRoot && entriesHere.length == 0 && children.length == 0) {
+            return null;
+        }
+        if (!isRoot && entriesHere.length == 0 && children.length == 1) {
+            // Keep the trie compressed: merge the edge into the only child
+            return children[0].relabel(node.label + children[0].label);
+        }
+        Entry<K>[] top = Arrays.asList(node.top).contains(entry) ? best(entriesHere, children) : node.top;
+        return node(node.label, children, entriesHere, top);
+    }
+
+    private Node<K> node(String label, Node<K>[] children, Entry<K>[] entriesHere, Entry<K>[] top) {
+        // A leaf's ranking is its own entries, no need for a second array
+        if (children.length == 0 && entriesHere.length <= capacity) {
+            top = entriesHere;
+        }
+        return new Node<>(label, children, entriesHere, top);
+    }
+
+    private Entry<K>[] best(Entry<K>[] entriesHere, Node<K>[] children) {
+        List<Entry<K>> candidates = new ArrayList<>(Arrays.asList(entriesHere));
+        for (Node<K> child : children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(BEST_FIRST);
+        return candidates.subList(0, Math.min(capacity, candidates.size())).toArray(empty());
+    }
+
+    private static <K> Entry<K>[] insertSorted(Entry<K>[] sorted, Entry<K> entry, int limit) {
+        int at = 0;
+        while (at < sorted.length && BEST_FIRST.compare(sorted[at], entry) <= 0) {
+            at++;
+        }
+        if (at >= limit) {
+            return sorted;
+        }
+        Entry<K>[] result = Arrays.copyOf(sorted, Math.min(limit, sorted.length + 1));
+        System.arraycopy(sorted, at, result, at + 1, result.length - at - 1);
+        result[at] = entry;
+        return result;
+    }
+
+    private static <K> Entry<K>[] without(Entry<K>[] sorted, Entry<K> entry) {
+        int at = Arrays.asList(sorted).indexOf(entry);
+        if (at < 0) {
+            return sorted;
+        }
+        Entry<K>[] result = Arrays.copyOf(sorted, sorted.length - 1);
+        System.arraycopy(sorted, at + 1, result, at, result.length - at);
+        return result;
+    }
+
+    private static <K> Node<K>[] withChild(Node<K>[] children, int at, Node<K> child) {
+        Node<K>[] result = Arrays.copyOf(children, children.length + 1);
+        System.arraycopy(children, at, result, at + 1, children.length - at);
+        result[at] = child;
+        return result;
+    }
+
+    private static <K> Node<K>[] withoutChild(Node<K>[] children, int at) {
+        Node<K>[] result = Arrays.copyOf(children, children.length - 1);
+        System.arraycopy(children, at + 1, result, at, result.length - at);
+        return result;
+    }
+
+    // Children are sorted by the first character of their edge, which is unique among siblings
+    private static int indexOf(Node<?>[] children, char c) {
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = children[mid].label.charAt(0);
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int commonPrefix(String label, String key, int depth) {
+        int n = 0;
+        while (n < label.length() && depth + n < key.length() && label.charAt(n) == key.charAt(depth + n)) {
+            n++;
+        }
+        return n;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K> Entry<K>[] empty() {
+        return (Entry<K>[]) new Entry[0];
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K> Node<K>[] noNodes() {
+        return (Node<K>[]) new Node[0];
+    }
+
+    private static final class Node<K> {
+
+        final String label;         // Characters on the edge into this node
+        final Node<K>[] children;   // Sorted by the first character of their label
+        final Entry<K>[] entries;   // Entries whose key ends here, best first
+        final Entry<K>[] top;       // Best entries at or below this node, best first
+
+        Node(String label, Node<K>[] children, Entry<K>[] entries, Entry<K>[] top) {
+            this.label = label;
+            this.children = children;
+            this.entries = entries;
+            this.top = top;
+        }
+
+        Node<K> relabel(String newLabel) {
+            return new Node<>(newLabel, children, entries, top);
+        }
+    }
+
+    private record Keyed<K>(String key, Entry<K> entry) {
+    }
+}
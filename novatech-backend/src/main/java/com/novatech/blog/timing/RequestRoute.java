@@ -0,0 +1,32 @@
+package com.novatech.blog.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Route label of a request: method and matched pattern, e.g. {@code GET /api/posts/{slug}}.
+ */
+public final class RequestRoute {
+
+    private RequestRoute() {
+    }
+
+    public static String of(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "(unmatched)");
+    }
+
+    /**
+     * Route of the request handled by this thread, or the thread name outside of requests.
+     */
+    public static String current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            return of(servlet.getRequest());
+        }
+        return "(" + Thread.currentThread().getName() + ")";
+    }
+}
@@ -0,0 +1,52 @@
+package com.novatech.blog.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Reports timing asked for with {@value ServerTimingFilter#REQUEST_HEADER}. Sits in the security
+ * chain right after JWT authentication, so the response is only buffered for the
+ * {@code Server-Timing} header once the caller is known to be an admin; everyone else's flagged
+ * requests pass through untouched. {@link ServerTimingFilter} has been timing since before
+ * authentication and still records the route statistics.
+ */
+@Component
+public class RequestedServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getHeader(ServerTimingFilter.REQUEST_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        ServerTiming timing = ServerTiming.current();
+        // Sampled requests are already buffered and reported by ServerTimingFilter
+        if (timing == null || timing.isSampled() || !timing.isAdmin()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, buffered);
+        } finally {
+            if (!buffered.isCommitted()) {
+                buffered.setHeader(ServerTimingFilter.HEADER, timing.header(timing.elapsedNanos()));
+            }
+            buffered.copyBodyToResponse();
+        }
+    }
+}
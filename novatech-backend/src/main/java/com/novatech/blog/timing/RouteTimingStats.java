@@ -0,0 +1,122 @@
+package com.novatech.blog.timing;
+
+import com.novatech.blog.dto.RouteTimingResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rolling per-route breakdown of timed requests over the last {@code window-minutes}, kept as
+ * one bucket per minute so old minutes drop out without any sweeping.
+ */
+@Component
+public class RouteTimingStats {
+
+    private final int windowMinutes;
+    private final Map<String, Window> routes = new ConcurrentHashMap<>();
+
+    public RouteTimingStats(@Value("${blog.server-timing.window-minutes:15}") int windowMinutes) {
+        this.windowMinutes = windowMinutes;
+    }
+
+    void record(String route, ServerTiming timing, long totalNanos) {
+        routes.computeIfAbsent(route, r -> new Window(windowMinutes)).record(currentMinute(), timing, totalNanos);
+    }
+
+    /**
+     * Routes by the time spent on them in the window, busiest first.
+     */
+    public List<RouteTimingResponse> getBreakdown() {
+        long minute = currentMinute();
+        return routes.entrySet().stream()
+                .map(entry -> entry.getValue().summarize(entry.getKey(), minute))
+                .filter(route -> route.getRequests() > 0)
+                .sorted(Comparator.comparingDouble((RouteTimingResponse route) -> route.getRequests() * route.getAvgMs()).reversed())
+                .toList();
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / 60_000;
+    }
+
+    private static double millis(double nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static final class Window {
+
+        private final long[] minutes;
+        private final long[] requests;
+        private final long[] totalNanos;
+        private final long[] maxNanos;
+        private final long[][] phaseNanos;
+        private final long[] statements;
+
+        Window(int size) {
+            minutes = new long[size];
+            requests = new long[size];
+            totalNanos = new long[size];
+            maxNanos = new long[size];
+            phaseNanos = new long[size][ServerTiming.Phase.values().length];
+            statements = new long[size];
+            Arrays.fill(minutes, -1);
+        }
+
+        synchronized void record(long minute, ServerTiming timing, long nanos) {
+            int i = (int) (minute % minutes.length);
+            if (minutes[i] != minute) {
+                minutes[i] = minute;
+                requests[i] = 0;
+                totalNanos[i] = 0;
+                maxNanos[i] = 0;
+                Arrays.fill(phaseNanos[i], 0);
+                statements[i] = 0;
+            }
+            requests[i]++;
+            totalNanos[i] += nanos;
+            maxNanos[i] = Math.max(maxNanos[i], nanos);
+            for (ServerTiming.Phase phase : ServerTiming.Phase.values()) {
+                phaseNanos[i][phase.ordinal()] += timing.nanos(phase);
+            }
+            statements[i] += timing.count(ServerTiming.Phase.DB);
+        }
+
+        synchronized RouteTimingResponse summarize(String route, long minute) {
+            long count = 0;
+            long total = 0;
+            long max = 0;
+            long queries = 0;
+            long[] phases = new long[ServerTiming.Phase.values().length];
+            for (int i = 0; i < minutes.length; i++) {
+                if (minutes[i] < 0 || minute - minutes[i] >= minutes.length) {
+                    continue;
+                }
+                count += requests[i];
+                total += totalNanos[i];
+                max = Math.max(max, maxNanos[i]);
+                queries += statements[i];
+                for (int p = 0; p < phases.length; p++) {
+                    phases[p] += phaseNanos[i][p];
+                }
+            }
+            Map<String, Double> avgPhaseMs = new LinkedHashMap<>();
+            for (ServerTiming.Phase phase : ServerTiming.Phase.values()) {
+                avgPhaseMs.put(phase.metric(), count > 0 ? millis((double) phases[phase.ordinal()] / count) : 0);
+            }
+            return RouteTimingResponse.builder()
+                    .route(route)
+                    .requests(count)
+                    .avgMs(count > 0 ? millis((double) total / count) : 0)
+                    .maxMs(millis(max))
+                    .avgPhaseMs(avgPhaseMs)
+                    .avgStatements(count > 0 ? Math.round(queries * 100.0 / count) / 100.0 : 0)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.novatech.blog.timing;
+
+import org.springframework.security.core.Authentication;
+
+import java.util.Locale;
+
+/**
+ * Phase durations of the current request, kept in a thread-local while {@link ServerTimingFilter}
+ * times it. Outside a timed request every call here is a thread-local read and nothing else.
+ * <p>
+ * Phases are measured where they happen and may overlap: queries issued while authenticating or
+ * converting count towards {@code db} as well.
+ */
+public final class ServerTiming {
+
+    public enum Phase {
+        AUTH("auth"),
+        DB("db"),
+        CONVERT("convert"),
+        SERIALIZE("serialize");
+
+        private final String metric;
+
+        Phase(String metric) {
+            this.metric = metric;
+        }
+
+        public String metric() {
+            return metric;
+        }
+    }
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long[] nanos = new long[Phase.values().length];
+    private final int[] counts = new int[Phase.values().length];
+    private final boolean sampled;
+    private final long startedNanos = System.nanoTime();
+    private boolean admin;
+
+    private ServerTiming(boolean sampled) {
+        this.sampled = sampled;
+    }
+
+    static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    static ServerTiming begin(boolean sampled) {
+        ServerTiming timing = new ServerTiming(sampled);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Start of a phase, or 0 when the request is not timed.
+     */
+    public static long start() {
+        return CURRENT.get() != null ? System.nanoTime() : 0;
+    }
+
+    public static void stop(Phase phase, long started) {
+        add(phase, started, 1);
+    }
+
+    /**
+     * Like {@link #stop} but the time does not count as another occurrence of the phase.
+     */
+    public static void extend(Phase phase, long started) {
+        add(phase, started, 0);
+    }
+
+    private static void add(Phase phase, long started, int occurrences) {
+        if (started == 0) {
+            return;
+        }
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.nanos[phase.ordinal()] += System.nanoTime() - started;
+            timing.counts[phase.ordinal()] += occurrences;
+        }
+    }
+
+    /**
+     * Called once the request is authenticated. Timing requested through the request flag is
+     * only reported to admins.
+     */
+    public static void authenticated(Authentication authentication) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.admin = authentication.getAuthorities().stream()
+                    .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        }
+    }
+
+    boolean isReportable() {
+        return sampled || admin;
+    }
+
+    boolean isSampled() {
+        return sampled;
+    }
+
+    boolean isAdmin() {
+        return admin;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startedNanos;
+    }
+
+    long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    int count(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    /**
+     * Value of the {@code Server-Timing} header, durations in milliseconds.
+     */
+    String header(long totalNanos) {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            if (nanos[phase.ordinal()] == 0) {
+                continue;
+            }
+            header.append(phase.metric()).append(";dur=").append(millis(nanos[phase.ordinal()]));
+            if (phase == Phase.DB) {
+                int statements = counts[phase.ordinal()];
+                header.append(";desc=\"").append(statements).append(statements == 1 ? " statement\"" : " statements\"");
+            }
+            header.append(", ");
+        }
+        return header.append("total;dur=").append(millis(totalNanos)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
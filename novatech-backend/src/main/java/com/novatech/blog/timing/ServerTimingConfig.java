@@ -0,0 +1,42 @@
+package com.novatech.blog.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novatech.blog.jfr.SerializationEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+@Configuration
+public class ServerTimingConfig {
+
+    /**
+     * Boot's JSON converter with the write timed as the {@code serialize} phase and recorded as a
+     * {@link SerializationEvent}; it replaces the auto-configured one.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                SerializationEvent event = new SerializationEvent();
+                event.begin();
+                long started = ServerTiming.start();
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    ServerTiming.stop(ServerTiming.Phase.SERIALIZE, started);
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.type = object != null ? object.getClass().getName() : null;
+                        event.route = RequestRoute.current();
+                        event.commit();
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.novatech.blog.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Times a share of API requests phase by phase and reports the result in a {@code Server-Timing}
+ * header and in {@link RouteTimingStats}.
+ * <p>
+ * A request is timed when it is sampled ({@code sample-rate}) or carries {@value #REQUEST_HEADER};
+ * the latter is only reported when the caller turns out to be an admin. Runs ahead of the security
+ * chain so authentication is included. Sampled responses are buffered here, which lets the header
+ * be set after the body has been serialized. A flagged response is only buffered by
+ * {@link RequestedServerTimingFilter}, once authentication has shown an admin is asking, so
+ * anonymous callers cannot make the server buffer responses by sending the flag.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+
+    private final RouteTimingStats routeTimingStats;
+    private final boolean enabled;
+    private final double sampleRate;
+
+    public ServerTimingFilter(
+            RouteTimingStats routeTimingStats,
+            @Value("${blog.server-timing.enabled:true}") boolean enabled,
+            @Value("${blog.server-timing.sample-rate:0.01}") double sampleRate
+    ) {
+        this.routeTimingStats = routeTimingStats;
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!sampled && request.getHeader(REQUEST_HEADER) == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ServerTiming timing = ServerTiming.begin(sampled);
+        ContentCachingResponseWrapper buffered = sampled ? new ContentCachingResponseWrapper(response) : null;
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            long total = System.nanoTime() - started;
+            ServerTiming.end();
+            if (timing.isReportable()) {
+                routeTimingStats.record(RequestRoute.of(request), timing, total);
+            }
+            if (buffered != null) {
+                if (!buffered.isCommitted()) {
+                    buffered.setHeader(HEADER, timing.header(total));
+                }
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.novatech.blog.timing;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds connection acquisition and statement execution time to the {@code db} phase.
+ * Registered for every session through {@code hibernate.session.events.auto}.
+ */
+public class ServerTimingSessionListener implements SessionEventListener {
+
+    private long connectionStarted;
+    private long statementStarted;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionStarted = ServerTiming.start();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        // Waiting for a pooled connection is database time, but not a statement
+        ServerTiming.extend(ServerTiming.Phase.DB, connectionStarted);
+        connectionStarted = 0;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStarted = ServerTiming.start();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ServerTiming.stop(ServerTiming.Phase.DB, statementStarted);
+        statementStarted = 0;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        statementStarted = ServerTiming.start();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ServerTiming.stop(ServerTiming.Phase.DB, statementStarted);
+        statementStarted = 0;
+    }
+}
@@ -1,9 +1,9 @@
 
-import React, { useState } from 'react';
+import React, { useEffect, useRef, useState } from 'react';
 import { motion, AnimatePresence } from 'framer-motion';
 import { Save, Eye, Edit3, ArrowLeft, CheckCircle, AlertCircle } from 'lucide-react';
 import { Link, useNavigate } from 'react-router-dom';
-import { savePost } from '../services/blogService';
+import { savePost, suggestTags } from '../services/blogService';
 import { BlogPost } from '../types';
 
 export const Editor: React.FC = () => {
@@ -13,11 +13,39 @@ export const Editor: React.FC = () => {
   const [category, setCategory] = useState<BlogPost['category']>('General');
   const [content, setContent] = useState('');
   const [tags, setTags] = useState('');
+  const [tagSuggestions, setTagSuggestions] = useState<string[]>([]);
   const [readTime, setReadTime] = useState('5 min');
   const [isSaving, setIsSaving] = useState(false);
   const [error, setError] = useState('');
   const [successMessage, setSuccessMessage] = useState('');
 
+  const suggestTimer = useRef<ReturnType<typeof setTimeout> | undefined>(undefined);
+  const suggestRequest = useRef<AbortController | null>(null);
+
+  // Drop a pending lookup when leaving the page
+  useEffect(() => () => {
+    clearTimeout(suggestTimer.current);
+    suggestRequest.current?.abort();
+  }, []);
+
+  // Suggest completions for the tag being typed, keeping the ones before it.
+  // Waits for a pause in typing, and a newer keystroke cancels the older lookup so a late
+  // response can never replace the suggestions for the current text.
+  const handleTagsChange = (value: string) => {
+    setTags(value);
+    clearTimeout(suggestTimer.current);
+    suggestRequest.current?.abort();
+    suggestTimer.current = setTimeout(async () => {
+      const controller = new AbortController();
+      suggestRequest.current = controller;
+      const done = value.substring(0, value.lastIndexOf(',') + 1);
+      const matches = await suggestTags(value.substring(done.length), controller.signal);
+      if (!controller.signal.aborted) {
+        setTagSuggestions(matches.map(tag => (done ? done.trimEnd() + ' ' : '') + tag));
+      }
+    }, 150);
+  };
+
   const handleSave = async () => {
     if (!title || !content) {
       setError('Title and content are required');
@@ -148,9 +176,13 @@ export const Editor: React.FC = () => {
               type="text"
               placeholder="Tags (comma-separated)"
               value={tags}
-              onChange={e => setTags(e.target.value)}
+              onChange={e => handleTagsChange(e.target.value)}
+              list="tag-suggestions"
               className="flex-1 bg-slate-900 text-slate-300 border border-slate-700 rounded-md px-3 py-1 text-sm outline-none focus:border-cyan-500"
             />
+            <datalist id="tag-suggestions">
+              {tagSuggestions.map(suggestion => <option key={suggestion} value={suggestion} />)}
+            </datalist>
             
             <input
               type="text"
@@ -19,12 +19,14 @@ export const Home: React.FC = () => {
         setLoading(true);
         setError(null);
         // Don't use cache - always fetch fresh data from backend
-        const data = await getAllPosts();
-        if (!data || data.length === 0) {
+        const data = await getAllPosts(activeCategory === 'All' ? undefined : activeCategory);
+        if (activeCategory === 'All' && (!data || data.length === 0)) {
           setError('No posts found. Make sure backend is running.');
         }
         setPosts(data);
-        sessionStorage.setItem('novatech_posts', JSON.stringify(data));
+        if (activeCategory === 'All') {
+          sessionStorage.setItem('novatech_posts', JSON.stringify(data));
+        }
       } catch (err) {
         setError('Failed to load posts. Check backend connection.');
         console.error('Load posts error:', err);
@@ -33,12 +35,9 @@ export const Home: React.FC = () => {
       }
     };
     loadPosts();
-  }, []);
+  }, [activeCategory]);
 
   const categories = ['All', 'Frontend', 'Backend', 'AI', 'DevOps'];
-  const filteredPosts = activeCategory === 'All' 
-    ? posts 
-    : posts.filter(p => p.category === activeCategory);
 
   return (
     <main className="min-h-screen pb-20 relative z-10">
@@ -99,7 +98,7 @@ export const Home: React.FC = () => {
           </div>
         ) : (
           <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-8">
-            {filteredPosts.map((post, index) => (
+            {posts.map((post, index) => (
               <PostCard key={post.id} post={post} index={index} />
             ))}
           </div>
@@ -43,8 +43,16 @@ export const AuthProvider: React.FC<{ children: ReactNode }> = ({ children }) =>
   };
 
   const logout = () => {
+    const token = localStorage.getItem('novatech_auth_token');
     localStorage.removeItem('novatech_auth_token');
     setIsAdmin(false);
+    if (token) {
+      // Revoke server-side so a leaked copy of the token stops working too
+      fetch(`${API_BASE_URL}/auth/logout`, {
+        method: 'POST',
+        headers: { 'Authorization': `Bearer ${token}` }
+      }).catch(error => console.error('Logout failed:', error));
+    }
   };
 
   return (
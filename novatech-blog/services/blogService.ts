@@ -4,17 +4,52 @@ import { BlogPost, PostDetail } from "../types";
 // API Configuration
 const API_BASE_URL = 'http://localhost:8080/api';
 
+// Attributes the post list renders; leaving out content keeps the response small
+const LIST_FIELDS = 'slug,title,excerpt,category,readTime,date,tags';
+
+// Largest page the backend accepts (blog.posts.query.max-page-size)
+const CATEGORY_PAGE_SIZE = 100;
+
 /**
- * Get a list of posts for the homepage.
- * Fetches from Java backend API.
+ * Fetch every post in a category, following X-Total-Count across pages.
  */
-export const getAllPosts = async (): Promise<BlogPost[]> => {
-  try {
-    const response = await fetch(`${API_BASE_URL}/posts`);
+const fetchCategoryPosts = async (category: string): Promise<any[]> => {
+  const pageUrl = (page: number) =>
+    `${API_BASE_URL}/posts?fields=${LIST_FIELDS}&category=${encodeURIComponent(category)}&size=${CATEGORY_PAGE_SIZE}&page=${page}`;
+  const fetchPage = async (page: number) => {
+    const response = await fetch(pageUrl(page));
     if (!response.ok) {
       throw new Error('Failed to fetch posts');
     }
-    const posts = await response.json();
+    return response;
+  };
+
+  const first = await fetchPage(0);
+  const posts: any[] = await first.json();
+  const total = Number(first.headers.get('X-Total-Count') ?? posts.length);
+  const pages = Math.ceil(total / CATEGORY_PAGE_SIZE);
+  const rest = await Promise.all(
+    Array.from({ length: Math.max(0, pages - 1) }, (_, i) => fetchPage(i + 1).then(r => r.json()))
+  );
+  return posts.concat(...rest);
+};
+
+/**
+ * Get a list of posts for the homepage.
+ * Fetches from Java backend API; a category is filtered server-side, page by page.
+ */
+export const getAllPosts = async (category?: string): Promise<BlogPost[]> => {
+  try {
+    let posts: any[];
+    if (category) {
+      posts = await fetchCategoryPosts(category);
+    } else {
+      const response = await fetch(`${API_BASE_URL}/posts?fields=${LIST_FIELDS}`);
+      if (!response.ok) {
+        throw new Error('Failed to fetch posts');
+      }
+      posts = await response.json();
+    }
     // Transform backend response to match frontend BlogPost interface
     return posts.map((post: any) => {
       // Format date from createdAt or use date field
@@ -104,3 +139,27 @@ export const savePost = async (post: Partial<PostDetail>): Promise<void> => {
     throw error;
   }
 };
+
+/**
+ * Existing tags starting with a prefix, most used first.
+ * Served from the backend's in-memory suggestion index.
+ */
+export const suggestTags = async (prefix: string, signal?: AbortSignal): Promise<string[]> => {
+  if (!prefix.trim()) {
+    return [];
+  }
+  try {
+    const response = await fetch(`${API_BASE_URL}/suggest?types=tag&prefix=${encodeURIComponent(prefix.trim())}`, { signal });
+    if (!response.ok) {
+      return [];
+    }
+    const suggestions = await response.json();
+    return suggestions.tags.map((tag: any) => tag.text);
+  } catch (error) {
+    // Aborted because the input changed; the caller ignores the result
+    if (!signal?.aborted) {
+      console.error('Error fetching tag suggestions:', error);
+    }
+    return [];
+  }
+};